@@ -15,16 +15,36 @@
  */
 package org.springframework.data.hazelcast;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.IndexConfig;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.SerializationServiceSupport;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.query.Predicates;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.hazelcast.annotation.NearCached;
 import org.springframework.data.keyvalue.core.AbstractKeyValueAdapter;
 import org.springframework.data.keyvalue.core.ForwardingCloseableIterator;
 import org.springframework.data.util.CloseableIterator;
 import org.springframework.util.Assert;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Christoph Strobl
@@ -34,10 +54,33 @@ import java.util.Map.Entry;
 public class HazelcastKeyValueAdapter
         extends AbstractKeyValueAdapter {
 
+    private static final Log LOG = LogFactory.getLog(HazelcastKeyValueAdapter.class);
+    private static final int DEFAULT_ITERATOR_FETCH_SIZE = 1000;
+
     private HazelcastInstance hzInstance;
+    private WriteMode writeMode = WriteMode.PUT;
+    private int iteratorFetchSize = DEFAULT_ITERATOR_FETCH_SIZE;
+    private volatile List<Object> partitionKeys;
+    private final Map<String, Optional<NearCache>> nearCaches = new ConcurrentHashMap<>();
+    private final Map<String, KeyspaceVersion> keyspaceVersions = new ConcurrentHashMap<>();
+    private final Map<String, QueryResultCache> queryResultCaches = new ConcurrentHashMap<>();
+    private final Map<String, QueryCache<Object, Object>> continuousQueryCaches = new ConcurrentHashMap<>();
 
     public HazelcastKeyValueAdapter(HazelcastInstance hzInstance) {
-        super(new HazelcastQueryEngine());
+        this(hzInstance, new HazelcastQueryEngine());
+    }
+
+    /**
+     * <p>
+     * Use a pre-configured query engine, for example one with
+     * {@link HazelcastQueryEngine#setPagingAnchorCacheSize(int) cursor paging} enabled.
+     * </P>
+     *
+     * @param hzInstance  Instance of Hazelcast
+     * @param queryEngine Engine for {@code findBy*()} and {@code countBy*()} queries
+     */
+    public HazelcastKeyValueAdapter(HazelcastInstance hzInstance, HazelcastQueryEngine queryEngine) {
+        super(queryEngine);
         Assert.notNull(hzInstance, "hzInstance must not be 'null'.");
         this.hzInstance = hzInstance;
     }
@@ -46,37 +89,365 @@ public class HazelcastKeyValueAdapter
         this.hzInstance = hzInstance;
     }
 
+    /**
+     * <p>
+     * Choose how entries are stored. The default {@link WriteMode#PUT} returns the previous value from every save,
+     * which Hazelcast has to serialize and send back even though saves rarely use it.
+     * {@link WriteMode#SET} and {@link WriteMode#SET_ASYNC} skip this.
+     * </P>
+     *
+     * @param writeMode How to store entries, not null
+     */
+    public void setWriteMode(WriteMode writeMode) {
+        Assert.notNull(writeMode, "writeMode must not be 'null'.");
+        this.writeMode = writeMode;
+    }
+
+    public WriteMode getWriteMode() {
+        return this.writeMode;
+    }
+
+    /**
+     * <p>
+     * Set how many entries {@link #entries(String)} and {@link #getAllOf(String)} fetch at a time. Iteration proceeds
+     * partition by partition, so at most this many entries are held at once however large the map is.
+     * </P>
+     *
+     * @param iteratorFetchSize Entries per fetch, must be positive
+     */
+    public void setIteratorFetchSize(int iteratorFetchSize) {
+        Assert.isTrue(iteratorFetchSize > 0, "iteratorFetchSize must be positive.");
+        this.iteratorFetchSize = iteratorFetchSize;
+    }
+
+    public int getIteratorFetchSize() {
+        return this.iteratorFetchSize;
+    }
+
+    /**
+     * <p>
+     * Keep a local copy of entries read by id from a keyspace, as an alternative to annotating the domain class with
+     * {@link NearCached @NearCached}. Entries are dropped when changed in the cluster, as reported by an entry
+     * listener on the map, and are held serialized so each read returns its own copy.
+     * </P>
+     *
+     * @param keyspace          The map name
+     * @param maxSize           Most entries to hold
+     * @param evictionPolicy    {@link EvictionPolicy#LRU LRU} or {@link EvictionPolicy#LFU LFU}
+     * @param timeToLiveSeconds Seconds an entry is held, zero for no limit
+     */
+    public void setNearCache(String keyspace, int maxSize, EvictionPolicy evictionPolicy, int timeToLiveSeconds) {
+        Assert.hasText(keyspace, "keyspace must not be empty.");
+        NearCache nearCache = new NearCache(maxSize, evictionPolicy, timeToLiveSeconds, serializationService());
+        Assert.state(this.nearCaches.putIfAbsent(keyspace, Optional.of(nearCache)) == null,
+                () -> String.format("Near cache for '%s' is already configured.", keyspace));
+        getMap(keyspace).addEntryListener(nearCache, false);
+    }
+
+    /**
+     * <p>
+     * Serve reads of a keyspace, including queries run by the {@link HazelcastQueryEngine}, from a Continuous Query
+     * Cache holding every entry of the map, as an alternative to annotating the domain class with
+     * {@link org.springframework.data.hazelcast.annotation.ContinuousQueryCached @ContinuousQueryCached}. Writes still go
+     * to the map, and reach the cache asynchronously. Calling again for the same keyspace has no effect.
+     * </P>
+     *
+     * @param keyspace     The map name, also used as the name of the cache
+     * @param indexConfigs Indexes to add to the cache, so local queries need not scan every entry
+     */
+    public void setContinuousQueryCache(String keyspace, Collection<IndexConfig> indexConfigs) {
+        Assert.hasText(keyspace, "keyspace must not be empty.");
+        Assert.notNull(indexConfigs, "indexConfigs must not be 'null'.");
+        this.continuousQueryCaches.computeIfAbsent(keyspace, key -> {
+            QueryCache<Object, Object> queryCache = getMap(key).getQueryCache(key, Predicates.alwaysTrue(), true);
+            indexConfigs.forEach(queryCache::addIndex);
+            return queryCache;
+        });
+    }
+
+    /**
+     * @param keyspace The map name
+     * @return The Continuous Query Cache serving reads of the keyspace, or {@code null} if reads go to the map
+     */
+    QueryCache<Object, Object> getContinuousQueryCache(String keyspace) {
+        return this.continuousQueryCaches.get(keyspace);
+    }
+
+    /**
+     * <p>
+     * The result cache for a query method, created on first request. Results held are discarded when anything in the
+     * keyspace changes, as reported by an entry listener on the map or by a write through this adapter.
+     * </P>
+     *
+     * @param name       Identifies the query method, such as {@code PersonRepository.findByLastname(String)}
+     * @param keyspace   The map the query reads
+     * @param maxEntries Number of distinct parameter sets to hold results for
+     * @return The cache for the method
+     */
+    public QueryResultCache getQueryResultCache(String name, String keyspace, int maxEntries) {
+        Assert.hasText(name, "name must not be empty.");
+        Assert.isTrue(maxEntries > 0, "maxEntries must be positive.");
+        return this.queryResultCaches.computeIfAbsent(name,
+                key -> new QueryResultCache(key, maxEntries, keyspaceVersion(keyspace)));
+    }
+
+    /**
+     * @return Every query result cache created, keyed by name, for monitoring their hits and misses
+     */
+    public Map<String, QueryResultCache> getQueryResultCaches() {
+        return Collections.unmodifiableMap(this.queryResultCaches);
+    }
+
+    /**
+     * <p>
+     * Store an entry according to the {@link #setWriteMode(WriteMode) write mode}.
+     * </P>
+     *
+     * @return The previous value for {@link WriteMode#PUT}, otherwise {@code null}
+     */
     @Override
     public Object put(Object id, Object item, String keyspace) {
         Assert.notNull(id, "Id must not be 'null' for adding.");
         Assert.notNull(item, "Item must not be 'null' for adding.");
 
-        return getMap(keyspace).put(id, item);
+        switch (this.writeMode) {
+            case SET:
+                getMap(keyspace).set(id, item);
+                invalidate(id, keyspace);
+                return null;
+            case SET_ASYNC:
+                getMap(keyspace).setAsync(id, item).whenComplete((ignored, throwable) -> {
+                    invalidate(id, keyspace);
+                    if (throwable != null) {
+                        LOG.warn(String.format("Asynchronous set of '%s' in '%s' failed", id, keyspace), throwable);
+                    }
+                });
+                return null;
+            default:
+                Object previous = getMap(keyspace).put(id, item);
+                invalidate(id, keyspace);
+                return previous;
+        }
+    }
+
+    /**
+     * <p>
+     * Store an entry without waiting for the write, using {@code putAsync} or {@code setAsync} depending on the
+     * {@link #setWriteMode(WriteMode) write mode}.
+     * </P>
+     *
+     * @param id       Key of the entry
+     * @param item     Value of the entry
+     * @param keyspace The map name
+     * @return Completes with the previous value for {@link WriteMode#PUT}, otherwise with {@code null}
+     */
+    public CompletionStage<Object> putAsync(Object id, Object item, String keyspace) {
+        Assert.notNull(id, "Id must not be 'null' for adding.");
+        Assert.notNull(item, "Item must not be 'null' for adding.");
+
+        CompletionStage<Object> write;
+        if (this.writeMode == WriteMode.PUT) {
+            write = getMap(keyspace).putAsync(id, item);
+        } else {
+            write = getMap(keyspace).setAsync(id, item).thenApply(ignored -> null);
+        }
+        return write.whenComplete((ignored, throwable) -> invalidate(id, keyspace));
+    }
+
+    /**
+     * <p>
+     * Store a batch of entries. Hazelcast groups the entries by partition and sends one operation per member,
+     * rather than one per entry. The {@link #setWriteMode(WriteMode) write mode} selects {@code putAll},
+     * {@code setAll} or {@code setAllAsync}.
+     * </P>
+     *
+     * @param items    Entries to store, keyed by id
+     * @param keyspace The map name
+     */
+    public void putAll(Map<?, ?> items, String keyspace) {
+        Assert.notNull(items, "Items must not be 'null' for adding.");
+
+        switch (this.writeMode) {
+            case SET:
+                getMap(keyspace).setAll(items);
+                invalidateAll(items.keySet(), keyspace);
+                break;
+            case SET_ASYNC:
+                getMap(keyspace).setAllAsync(items).whenComplete((ignored, throwable) -> {
+                    invalidateAll(items.keySet(), keyspace);
+                    if (throwable != null) {
+                        LOG.warn(String.format("Asynchronous set of %d items in '%s' failed", items.size(), keyspace),
+                                throwable);
+                    }
+                });
+                break;
+            default:
+                getMap(keyspace).putAll(items);
+                invalidateAll(items.keySet(), keyspace);
+        }
     }
 
     @Override
     public boolean contains(Object id, String keyspace) {
-        return getMap(keyspace).containsKey(id);
+        QueryCache<Object, Object> queryCache = getContinuousQueryCache(keyspace);
+        return queryCache != null ? queryCache.containsKey(id) : getMap(keyspace).containsKey(id);
     }
 
     @Override
     public Object get(Object id, String keyspace) {
-        return getMap(keyspace).get(id);
+        return get(id, keyspace, nearCache(keyspace));
+    }
+
+    /**
+     * <p>
+     * Read an entry, from the {@link #setContinuousQueryCache(String, Collection) Continuous Query Cache} if one serves
+     * the keyspace, otherwise from the near cache if the type is {@link NearCached @NearCached} or one was
+     * {@link #setNearCache(String, int, EvictionPolicy, int) configured} for the keyspace.
+     * </P>
+     */
+    @Override
+    public <T> T get(Object id, String keyspace, Class<T> type) {
+        return type.cast(get(id, keyspace, nearCache(keyspace, type)));
+    }
+
+    private Object get(Object id, String keyspace, NearCache nearCache) {
+        QueryCache<Object, Object> queryCache = getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return queryCache.get(id);
+        }
+        if (nearCache == null) {
+            return getMap(keyspace).get(id);
+        }
+        Object cached = nearCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long reservation = nearCache.reserve();
+        Object value = getMap(keyspace).get(id);
+        nearCache.put(id, value, reservation);
+        return value;
+    }
+
+    /**
+     * <p>
+     * Retrieve a batch of entries, fetched with one operation per partition owner.
+     * </P>
+     *
+     * @param ids      Keys to look up
+     * @param keyspace The map name
+     * @return Entries found, keyed by id, absent keys are omitted
+     */
+    public Map<Object, Object> getAll(Collection<?> ids, String keyspace) {
+        Assert.notNull(ids, "Ids must not be 'null'.");
+
+        QueryCache<Object, Object> queryCache = getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return queryCache.getAll(new HashSet<>(ids));
+        }
+        return getMap(keyspace).getAll(new HashSet<>(ids));
+    }
+
+    public CompletionStage<Object> getAsync(Object id, String keyspace) {
+        QueryCache<Object, Object> queryCache = getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return CompletableFuture.completedFuture(queryCache.get(id));
+        }
+        NearCache nearCache = nearCache(keyspace);
+        if (nearCache == null) {
+            return getMap(keyspace).getAsync(id);
+        }
+        Object cached = nearCache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long reservation = nearCache.reserve();
+        return getMap(keyspace).getAsync(id).thenApply(value -> {
+            nearCache.put(id, value, reservation);
+            return value;
+        });
     }
 
     @Override
     public Object delete(Object id, String keyspace) {
-        return getMap(keyspace).remove(id);
+        Object previous = getMap(keyspace).remove(id);
+        invalidate(id, keyspace);
+        return previous;
+    }
+
+    public CompletionStage<Object> deleteAsync(Object id, String keyspace) {
+        return getMap(keyspace).removeAsync(id).whenComplete((ignored, throwable) -> invalidate(id, keyspace));
+    }
+
+    /**
+     * <p>
+     * Change selected attributes of one entry on the member that owns it, without the entity being sent in either
+     * direction.
+     * </P>
+     *
+     * @param id       Key of the entry
+     * @param update   Attributes to change
+     * @param keyspace The map name
+     * @return True if the entry exists and was changed
+     */
+    public boolean update(Object id, UpdateEntryProcessor update, String keyspace) {
+        Assert.notNull(id, "Id must not be 'null' for updating.");
+        Assert.notNull(update, "Update must not be 'null'.");
+
+        Boolean updated = getMap(keyspace).executeOnKey(id, update);
+        invalidate(id, keyspace);
+        return Boolean.TRUE.equals(updated);
     }
 
+    /**
+     * <p>
+     * Remove a batch of entries. The keys are grouped by partition and removed by the owning members, without the
+     * removed values being returned.
+     * </P>
+     *
+     * @param ids      Keys to remove
+     * @param keyspace The map name
+     */
+    public void deleteAll(Collection<?> ids, String keyspace) {
+        Assert.notNull(ids, "Ids must not be 'null'.");
+
+        if (!ids.isEmpty()) {
+            getMap(keyspace).executeOnKeys(new HashSet<>(ids), new RemoveEntryProcessor(false));
+            invalidateAll(ids, keyspace);
+        }
+    }
+
+    /**
+     * <p>
+     * All values in the map, fetched in batches as the returned {@code Iterable} is iterated rather than all at once.
+     * Each call to {@code iterator()} starts a new pass over the map.
+     * </P>
+     * <p>
+     * {@code KeyValueTemplate.findAll} still collects these into a list to check their type, so only callers iterating
+     * this directly, such as reactive repositories' {@code findAll}, keep memory bounded.
+     * </P>
+     */
     @Override
     public Iterable<?> getAllOf(String keyspace) {
-        return getMap(keyspace).values();
+        return () -> {
+            Iterator<Entry<Object, Object>> entries = this.entries(keyspace);
+            return new Iterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return entries.next().getValue();
+                }
+            };
+        };
     }
 
     @Override
     public void deleteAllOf(String keyspace) {
         getMap(keyspace).clear();
+        invalidateAll(keyspace);
     }
 
     @Override
@@ -84,6 +455,133 @@ public class HazelcastKeyValueAdapter
         this.hzInstance.shutdown();
     }
 
+    /**
+     * <p>
+     * Expose the query engine, for Hazelcast specific query operations that {@code KeyValueOperations} has no
+     * equivalent for.
+     * </P>
+     *
+     * @return The engine for queries against this adapter
+     */
+    @Override
+    public HazelcastQueryEngine getQueryEngine() {
+        return (HazelcastQueryEngine) super.getQueryEngine();
+    }
+
+    /**
+     * <p>
+     * One key for each partition, indexed by partition id, for directing a query at a single partition. The partition
+     * count is fixed for the life of a cluster, so these are found once by probing integer keys.
+     * </P>
+     *
+     * @return Keys, one per partition
+     */
+    List<Object> getPartitionKeys() {
+        List<Object> keys = this.partitionKeys;
+        if (keys == null) {
+            PartitionService partitionService = this.hzInstance.getPartitionService();
+            Object[] keyForPartition = new Object[partitionService.getPartitions().size()];
+            int found = 0;
+            for (int probe = 0; found < keyForPartition.length; probe++) {
+                int partitionId = partitionService.getPartition(probe).getPartitionId();
+                if (keyForPartition[partitionId] == null) {
+                    keyForPartition[partitionId] = probe;
+                    found++;
+                }
+            }
+            keys = Collections.unmodifiableList(Arrays.asList(keyForPartition));
+            this.partitionKeys = keys;
+        }
+        return keys;
+    }
+
+    /* The near cache already created for a keyspace, if any. Reads without a type
+     * cannot see a @NearCached annotation, so only use a cache once a typed read
+     * or the setter has created it.
+     */
+    private NearCache nearCache(String keyspace) {
+        Optional<NearCache> nearCache = this.nearCaches.get(keyspace);
+        return nearCache == null ? null : nearCache.orElse(null);
+    }
+
+    /* Near caches hold values in the form the cluster would send them, with the
+     * serializers configured for this member or client.
+     */
+    private SerializationService serializationService() {
+        Assert.state(this.hzInstance instanceof SerializationServiceSupport,
+                "Near caching needs a Hazelcast member or client instance.");
+        return ((SerializationServiceSupport) this.hzInstance).getSerializationService();
+    }
+
+    private NearCache nearCache(String keyspace, Class<?> type) {
+        Optional<NearCache> nearCache = this.nearCaches.get(keyspace);
+        if (nearCache == null) {
+            nearCache = this.nearCaches.computeIfAbsent(keyspace, key -> {
+                NearCached nearCached = AnnotationUtils.findAnnotation(type, NearCached.class);
+                if (nearCached == null) {
+                    return Optional.empty();
+                }
+                NearCache created = new NearCache(nearCached.maxSize(), nearCached.evictionPolicy(),
+                        nearCached.timeToLiveSeconds(), serializationService());
+                getMap(key).addEntryListener(created, false);
+                return Optional.of(created);
+            });
+        }
+        return nearCache.orElse(null);
+    }
+
+    /* Local writes are dropped from the near cache as soon as they complete, rather
+     * than when the entry listener is told of them, so this caller reads its own writes.
+     */
+    private void invalidate(Object id, String keyspace) {
+        NearCache nearCache = nearCache(keyspace);
+        if (nearCache != null) {
+            nearCache.invalidate(id);
+        }
+        invalidateQueryResults(keyspace);
+    }
+
+    void invalidateAll(Collection<?> ids, String keyspace) {
+        NearCache nearCache = nearCache(keyspace);
+        if (nearCache != null) {
+            ids.forEach(nearCache::invalidate);
+        }
+        invalidateQueryResults(keyspace);
+    }
+
+    /* For removals whose keys are not known here, such as a delete by predicate.
+     */
+    void invalidateAll(String keyspace) {
+        NearCache nearCache = nearCache(keyspace);
+        if (nearCache != null) {
+            nearCache.invalidateAll();
+        }
+        invalidateQueryResults(keyspace);
+    }
+
+    /**
+     * <p>
+     * Mark cached query results for a keyspace as out of date, for changes made other than through the adapter's
+     * own writes, such as deletes by query.
+     * </P>
+     *
+     * @param keyspace The map name
+     */
+    void invalidateQueryResults(String keyspace) {
+        KeyspaceVersion keyspaceVersion = this.keyspaceVersions.get(keyspace);
+        if (keyspaceVersion != null) {
+            keyspaceVersion.increment();
+        }
+    }
+
+    private KeyspaceVersion keyspaceVersion(String keyspace) {
+        return this.keyspaceVersions.computeIfAbsent(keyspace, key -> {
+            KeyspaceVersion keyspaceVersion = new KeyspaceVersion();
+            getMap(key).addEntryListener(keyspaceVersion, false);
+            return keyspaceVersion;
+        });
+    }
+
     protected IMap<Object, Object> getMap(final String keyspace) {
         return hzInstance.getMap(keyspace);
     }
@@ -95,12 +593,22 @@ public class HazelcastKeyValueAdapter
 
     @Override
     public long count(String keyspace) {
-        return getMap(keyspace).size();
+        QueryCache<Object, Object> queryCache = getContinuousQueryCache(keyspace);
+        return queryCache != null ? queryCache.size() : getMap(keyspace).size();
     }
 
+    /**
+     * <p>
+     * Iterate the map partition by partition, fetching {@link #setIteratorFetchSize(int) a batch} of entries at a time
+     * rather than copying the whole entry set to the caller first. As with a database cursor, entries written during
+     * iteration may or may not be seen.
+     * </P>
+     */
     @Override
     public CloseableIterator<Map.Entry<Object, Object>> entries(String keyspace) {
-        Iterator<Entry<Object, Object>> iterator = this.getMap(keyspace).entrySet().iterator();
+        QueryCache<Object, Object> queryCache = getContinuousQueryCache(keyspace);
+        Iterator<Entry<Object, Object>> iterator = (queryCache != null ? queryCache.entrySet().iterator()
+                : this.getMap(keyspace).iterator(this.iteratorFetchSize));
         return new ForwardingCloseableIterator<>(iterator);
     }
 }
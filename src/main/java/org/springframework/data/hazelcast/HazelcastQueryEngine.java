@@ -15,21 +15,39 @@
  */
 package org.springframework.data.hazelcast;
 
-import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import org.springframework.data.hazelcast.repository.query.HazelcastCriteriaAccessor;
+import org.springframework.data.hazelcast.repository.query.HazelcastProjection;
 import org.springframework.data.hazelcast.repository.query.HazelcastSortAccessor;
 import org.springframework.data.keyvalue.core.QueryEngine;
+import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.util.StreamUtils;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>
- * Implementation of {@code findBy*()} and {@code countBy*{}} queries.
+ * Implementation of {@code findBy*()}, {@code countBy*{}} and {@code deleteBy*()} queries.
  * </P>
  *
  * @author Christoph Strobl
@@ -39,10 +57,33 @@ import java.util.Map.Entry;
 public class HazelcastQueryEngine
         extends QueryEngine<HazelcastKeyValueAdapter, Predicate<?, ?>, Comparator<Entry<?, ?>>> {
 
+    private final HazelcastCriteriaAccessor criteriaAccessor = new HazelcastCriteriaAccessor();
+    private final HazelcastSortAccessor sortAccessor = new HazelcastSortAccessor();
+
+    private PagingAnchorCache pagingAnchorCache;
+
     public HazelcastQueryEngine() {
         super(new HazelcastCriteriaAccessor(), new HazelcastSortAccessor());
     }
 
+    /**
+     * <p>
+     * Enable cursor-style paging. The anchors Hazelcast records while fetching a page (the last entry of each page) are
+     * remembered for the given number of distinct queries, so fetching the next page of the same query only needs each
+     * partition to return the entries after the previous page's anchor, instead of sorting and returning every entry up
+     * to the requested page.
+     * </P>
+     * <p>
+     * As the anchors are positions in the data seen when they were recorded, concurrent writes may cause entries to be
+     * skipped or repeated across pages, as with any database cursor.
+     * </P>
+     *
+     * @param maxQueries Number of distinct paged queries to remember anchors for, zero or less disables
+     */
+    public void setPagingAnchorCacheSize(int maxQueries) {
+        this.pagingAnchorCache = (maxQueries > 0 ? new PagingAnchorCache(maxQueries) : null);
+    }
+
     /**
      * <p>
      * Construct the final query predicate for Hazelcast to execute, from the base query plus any paging and sorting.
@@ -65,18 +106,25 @@ public class HazelcastQueryEngine
         final HazelcastKeyValueAdapter adapter = getAdapter();
         Assert.notNull(adapter, "Adapter must not be 'null'.");
 
-        Predicate<?, ?> predicateToUse = criteria;
+        final QueryCache<Object, Object> queryCache = adapter.getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return executeLocally(queryCache, criteria, sort, offset, rows);
+        }
+
+        /* Paging applies to the target of a partition predicate, which must
+         * remain outermost.
+         */
+        final PartitionPredicate<?, ?> partitions = partitionsOf(criteria);
+        Predicate<?, ?> predicateToUse = (partitions != null ? partitions.getTarget() : criteria);
         @SuppressWarnings({"unchecked", "rawtypes"}) Comparator<Entry> sortToUse = ((Comparator<Entry>) (Comparator) sort);
 
         if (rows > 0) {
-            PagingPredicate pp = new PagingPredicateImpl(predicateToUse, sortToUse, rows);
-            long x = offset / rows;
-            while (x > 0) {
-                pp.nextPage();
-                x--;
+            if (offset > 0 && offset % rows != 0) {
+                return this.executeWindow(predicateToUse, sortToUse, offset, rows, partitions, keyspace);
             }
-            predicateToUse = pp;
-
+            PagingPredicateImpl pp = new PagingPredicateImpl(predicateToUse, sortToUse, rows);
+            pp.setPage((int) (offset / rows));
+            return this.executePage(pp, partitions, keyspace);
         } else {
             if (sortToUse != null) {
                 predicateToUse = new PagingPredicateImpl(predicateToUse, sortToUse, Integer.MAX_VALUE);
@@ -86,17 +134,160 @@ public class HazelcastQueryEngine
         if (predicateToUse == null) {
             return adapter.getMap(keyspace).values();
         } else {
-            return adapter.getMap(keyspace).values((Predicate<Object, Object>) predicateToUse);
+            return adapter.getMap(keyspace).values(routed(partitions, predicateToUse));
+        }
+
+    }
+
+    /**
+     * <p>
+     * Run a query against a Continuous Query Cache, sorting and paging here as every entry is local. A paging
+     * predicate in the criteria, as for a geo query's nearest matches, is applied as a limit on the sorted matches.
+     * </P>
+     *
+     * @param queryCache Local copy of the map
+     * @param criteria   Search criteria, null means match everything
+     * @param sort       Possibly null collation
+     * @param offset     Start point of returned rows, -1 if not used
+     * @param rows       Number of rows, -1 if not used
+     * @return Matching values
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<?> executeLocally(final QueryCache<Object, Object> queryCache, final Predicate<?, ?> criteria,
+                                          final Comparator<Entry<?, ?>> sort, final long offset, final int rows) {
+        Predicate<?, ?> predicate = criteria;
+        if (predicate instanceof PartitionPredicate) {
+            predicate = ((PartitionPredicate<?, ?>) predicate).getTarget();
+        }
+        int limit = Integer.MAX_VALUE;
+        if (predicate instanceof PagingPredicateImpl) {
+            limit = ((PagingPredicateImpl) predicate).getPageSize();
+            predicate = ((PagingPredicateImpl) predicate).getPredicate();
         }
 
+        Stream<Entry<Object, Object>> matches = (predicate == null ? queryCache.entrySet()
+                : queryCache.entrySet((Predicate<Object, Object>) predicate)).stream();
+        if (sort != null) {
+            matches = matches.sorted((Comparator) sort);
+        }
+        if (limit != Integer.MAX_VALUE) {
+            matches = matches.limit(limit);
+        }
+        if (offset > 0) {
+            matches = matches.skip(offset);
+        }
+        if (rows > 0) {
+            matches = matches.limit(rows);
+        }
+        return matches.map(Entry::getValue).collect(Collectors.toList());
     }
 
     /**
      * <p>
-     * Execute {@code countBy*()} queries against a Hazelcast map.
+     * Fetch one page, resuming from a remembered anchor where cursor paging is enabled. Without an anchor Hazelcast
+     * has every partition return all entries up to the end of the requested page, which is costly for deep pages.
+     * Anchors are not used for queries routed to some partitions only, as they are recorded per predicate and would
+     * otherwise be shared between queries on different partitions.
      * </P>
      *
-     * @param criteria Predicate to use, not null
+     * @param pagingPredicate Positioned on the required page
+     * @param partitions      Partitions to run on, null for all
+     * @param keyspace        The map name
+     * @return Entries on the page
+     */
+    @SuppressWarnings("rawtypes")
+    private Collection<?> executePage(final PagingPredicateImpl pagingPredicate,
+                                      final PartitionPredicate<?, ?> partitions, final String keyspace) {
+        final PagingAnchorCache anchorCache = (partitions == null ? this.pagingAnchorCache : null);
+        if (anchorCache != null) {
+            anchorCache.restore(keyspace, pagingPredicate);
+        }
+
+        Collection<?> result = getAdapter().getMap(keyspace).values(routed(partitions, pagingPredicate));
+
+        if (anchorCache != null) {
+            anchorCache.save(keyspace, pagingPredicate);
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * Fetch the rows of a {@code Slice}, and the first row after them if there is one, so the caller can tell if there
+     * is a next slice without counting. Both are fetched by one query for one more row than the slice holds. Where the
+     * offset is a multiple of that, as for the first slice, this is a page of a paging predicate, so resumes from a
+     * remembered anchor where cursor paging is enabled. Otherwise the rows up to the end of the slice are fetched and
+     * those before the offset skipped.
+     * </P>
+     *
+     * @param query    Query with the offset and row count of the slice
+     * @param type     Only entries of this type or a subtype are returned
+     * @param keyspace The map name
+     * @return Up to one more than the requested number of rows
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<?> executeSlice(final KeyValueQuery<?> query, final Class<?> type, final String keyspace) {
+        final HazelcastKeyValueAdapter adapter = getAdapter();
+        Assert.notNull(adapter, "Adapter must not be 'null'.");
+        Assert.isTrue(query.getRows() > 0, "A slice needs a row count.");
+
+        final Predicate<?, ?> criteria = ofType(this.criteriaAccessor.resolve(query), type);
+        final Comparator<Entry<?, ?>> sort = this.sortAccessor.resolve(query);
+        final long offset = Math.max(query.getOffset(), 0);
+        final int rows = query.getRows();
+
+        final QueryCache<Object, Object> queryCache = adapter.getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return executeLocally(queryCache, criteria, sort, offset, rows + 1);
+        }
+
+        final PartitionPredicate<?, ?> partitions = partitionsOf(criteria);
+        final Predicate<?, ?> predicateToUse = (partitions != null ? partitions.getTarget() : criteria);
+        final Comparator<Entry> sortToUse = ((Comparator<Entry>) (Comparator) sort);
+
+        final int rowsAndNext = rows + 1;
+        if (offset % rowsAndNext != 0) {
+            return new ArrayList<>(this.executeWindow(predicateToUse, sortToUse, offset, rowsAndNext, partitions,
+                    keyspace));
+        }
+
+        PagingPredicateImpl pp = new PagingPredicateImpl(predicateToUse, sortToUse, rowsAndNext);
+        pp.setPage((int) (offset / rowsAndNext));
+        return new ArrayList<>(this.executePage(pp, partitions, keyspace));
+    }
+
+    /**
+     * <p>
+     * Fetch rows that do not start on a page boundary, such as an offset that is not a multiple of the row count.
+     * Paging predicates can only address whole pages, so fetch from the start and skip here.
+     * </P>
+     *
+     * @param predicate Search criteria, null means match everything
+     * @param sort      Possibly null collation
+     * @param offset    Start point of returned rows
+     * @param rows       Number of rows
+     * @param partitions Partitions to run on, null for all
+     * @param keyspace   The map name
+     * @return Entries in the window
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Collection<?> executeWindow(final Predicate<?, ?> predicate, final Comparator<Entry> sort, final long offset,
+                                        final int rows, final PartitionPredicate<?, ?> partitions,
+                                        final String keyspace) {
+        int pageSize = (int) Math.min(offset + rows, Integer.MAX_VALUE);
+        PagingPredicateImpl pp = new PagingPredicateImpl(predicate, sort, pageSize);
+
+        Collection<?> page = getAdapter().getMap(keyspace).values(routed(partitions, pp));
+        return page.stream().skip(offset).collect(Collectors.toList());
+    }
+
+    /**
+     * <p>
+     * Execute {@code countBy*()} queries against a Hazelcast map. The count is computed by each member with a
+     * distributed aggregation, so only the per-member totals are returned rather than every matching key.
+     * </P>
+     *
+     * @param criteria Predicate to use, null means count everything
      * @param keyspace The map name
      * @return Results from Hazelcast
      */
@@ -104,7 +295,293 @@ public class HazelcastQueryEngine
     public long count(final Predicate<?, ?> criteria, final String keyspace) {
         final HazelcastKeyValueAdapter adapter = getAdapter();
         Assert.notNull(adapter, "Adapter must not be 'null'.");
-        return adapter.getMap(keyspace).keySet((Predicate<Object, Object>) criteria).size();
+
+        final QueryCache<Object, Object> queryCache = adapter.getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return criteria == null ? queryCache.size() : executeLocally(queryCache, criteria, null, -1, -1).size();
+        }
+
+        final IMap<Object, Object> map = adapter.getMap(keyspace);
+        if (criteria == null) {
+            return map.aggregate(Aggregators.<Map.Entry<Object, Object>>count());
+        }
+        return map.aggregate(Aggregators.<Map.Entry<Object, Object>>count(), (Predicate<Object, Object>) criteria);
+    }
+
+    /**
+     * <p>
+     * Execute {@code countDistinctBy*()} queries, counting the distinct entities of a type that match. Each member
+     * de-duplicates its own matches with a distributed aggregation before they are merged. Entities are compared
+     * whole, so each distinct entity is still sent to the caller once per member holding it, and where entities are
+     * unique this costs as much as fetching them.
+     * </P>
+     *
+     * @param query    Query to use, its criteria may be null to match everything
+     * @param type     Only entries of this type or a subtype are counted
+     * @param keyspace The map name
+     * @return Number of distinct entities matching the query
+     */
+    public long countDistinct(final KeyValueQuery<?> query, final Class<?> type, final String keyspace) {
+        final HazelcastKeyValueAdapter adapter = getAdapter();
+        Assert.notNull(adapter, "Adapter must not be 'null'.");
+
+        final Predicate<Object, Object> predicate = this.resolveOfType(query, type);
+        final QueryCache<Object, Object> queryCache = adapter.getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return new HashSet<>(executeLocally(queryCache, predicate, null, -1, -1)).size();
+        }
+
+        final Set<Object> distinct = adapter.getMap(keyspace).aggregate(
+                Aggregators.<Map.Entry<Object, Object>, Object>distinct(), predicate);
+        return distinct.size();
+    }
+
+    /**
+     * <p>
+     * Execute a query returning only selected attributes of each match, applied by the members so that whole entities
+     * are not sent. Hazelcast cannot combine a projection with paging, so the query must be unsorted and unlimited.
+     * Where a Continuous Query Cache serves the keyspace, the matches are already local and are projected here.
+     * </P>
+     *
+     * @param criteria   Search criteria, null means match everything
+     * @param projection Attributes to return
+     * @param type       Only entries of this type or a subtype are projected
+     * @param keyspace   The map name
+     * @return Projected matches, the attribute values of each in the order of the projection's properties
+     */
+    public Collection<Object[]> project(final Predicate<?, ?> criteria, final HazelcastProjection projection,
+                                        final Class<?> type, final String keyspace) {
+        final HazelcastKeyValueAdapter adapter = getAdapter();
+        Assert.notNull(adapter, "Adapter must not be 'null'.");
+
+        final Predicate<Object, Object> predicate = ofType(criteria, type);
+        final QueryCache<Object, Object> queryCache = adapter.getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return executeLocally(queryCache, predicate, null, -1, -1).stream().map(projection::project)
+                                                                           .collect(Collectors.toList());
+        }
+        return adapter.getMap(keyspace).project(projection.toProjection(), predicate);
+    }
+
+    /**
+     * <p>
+     * Execute {@code Stream<T>} queries, fetching results lazily in batches as the stream is consumed, so that memory
+     * use does not grow with the size of the result. Queries with a row limit are bounded and run as usual.
+     * </P>
+     *
+     * @param query    Query to use, its criteria may be null to match everything
+     * @param type     Only entries of this type or a subtype are returned
+     * @param keyspace The map name
+     * @return Matches, fetched on demand
+     */
+    public Stream<?> stream(final KeyValueQuery<?> query, final Class<?> type, final String keyspace) {
+        final Predicate<?, ?> criteria = ofType(this.criteriaAccessor.resolve(query), type);
+        final Comparator<Entry<?, ?>> sort = this.sortAccessor.resolve(query);
+
+        if (query.getRows() > 0) {
+            return this.execute(criteria, sort, query.getOffset(), query.getRows(), keyspace).stream();
+        }
+
+        final Stream<?> stream = this.stream(criteria, sort, keyspace);
+        return query.getOffset() > 0 ? stream.skip(query.getOffset()) : stream;
+    }
+
+    /**
+     * <p>
+     * Stream the matches for a predicate. Unsorted results are fetched one partition at a time. Sorted results are
+     * fetched a page at a time, each page resuming from the anchor of the previous one, with the adapter's
+     * {@link HazelcastKeyValueAdapter#setIteratorFetchSize(int) fetch size} as the page size.
+     * </P>
+     *
+     * @param criteria Search criteria, null means match everything
+     * @param sort     Possibly null collation
+     * @param keyspace The map name
+     * @return Matches, fetched on demand
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Stream<?> stream(final Predicate<?, ?> criteria, final Comparator<Entry<?, ?>> sort, final String keyspace) {
+        final HazelcastKeyValueAdapter adapter = getAdapter();
+        Assert.notNull(adapter, "Adapter must not be 'null'.");
+
+        final QueryCache<Object, Object> queryCache = adapter.getContinuousQueryCache(keyspace);
+        if (queryCache != null) {
+            return executeLocally(queryCache, criteria, sort, -1, -1).stream();
+        }
+
+        final IMap<Object, Object> map = adapter.getMap(keyspace);
+        final PartitionPredicate<?, ?> partitions = partitionsOf(criteria);
+        final Predicate<?, ?> target = (partitions != null ? partitions.getTarget() : criteria);
+        final Predicate<Object, Object> predicate = (target == null ? Predicates.alwaysTrue()
+                : (Predicate<Object, Object>) target);
+
+        final Supplier<Collection<?>> batches;
+        if (sort == null) {
+            final Iterator<?> partitionKeys = (partitions != null ? partitions.getPartitionKeys()
+                    : adapter.getPartitionKeys()).iterator();
+            batches = () -> partitionKeys.hasNext()
+                    ? map.values(Predicates.partitionPredicate(partitionKeys.next(), predicate)) : null;
+        } else {
+            final int pageSize = adapter.getIteratorFetchSize();
+            final PagingPredicateImpl pagingPredicate = new PagingPredicateImpl(predicate, (Comparator<Entry>) (Comparator) sort,
+                    pageSize);
+            final boolean[] exhausted = {false};
+            batches = () -> {
+                if (exhausted[0]) {
+                    return null;
+                }
+                Collection<?> page = map.values(routed(partitions, pagingPredicate));
+                exhausted[0] = page.size() < pageSize;
+                pagingPredicate.nextPage();
+                return page;
+            };
+        }
+
+        return StreamUtils.createStreamFromIterator(new BatchIterator(batches));
+    }
+
+    private static PartitionPredicate<?, ?> partitionsOf(final Predicate<?, ?> criteria) {
+        return criteria instanceof PartitionPredicate ? (PartitionPredicate<?, ?>) criteria : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object, Object> routed(final PartitionPredicate<?, ?> partitions,
+                                                    final Predicate<?, ?> predicate) {
+        return (Predicate<Object, Object>) (partitions == null ? predicate
+                : HazelcastCriteriaAccessor.routeTo(partitions.getPartitionKeys(), predicate));
+    }
+
+    /**
+     * <p>
+     * Execute {@code deleteBy*()} queries where the deleted entities are not needed. Matching entries are removed by
+     * the members that own them, in one operation. As the removed keys are not returned, the keyspace's near cache is
+     * cleared.
+     * </P>
+     *
+     * @param query    Query to use, its criteria may be null to delete everything
+     * @param type     Only entries of this type or a subtype are removed
+     * @param keyspace The map name
+     */
+    public void delete(final KeyValueQuery<?> query, final Class<?> type, final String keyspace) {
+        getRequiredMap(keyspace).removeAll(this.resolveOfType(query, type));
+        getAdapter().invalidateAll(keyspace);
+    }
+
+    /**
+     * <p>
+     * Execute {@code deleteBy*()} queries returning the number of deleted entities. Matching entries are removed by an
+     * entry processor that returns only a flag, so entities are not sent to the caller.
+     * </P>
+     *
+     * @param query    Query to use, its criteria may be null to delete everything
+     * @param type     Only entries of this type or a subtype are removed
+     * @param keyspace The map name
+     * @return Number of entries removed
+     */
+    public long deleteAndCount(final KeyValueQuery<?> query, final Class<?> type, final String keyspace) {
+        final Map<Object, Object> removed = getRequiredMap(keyspace).executeOnEntries(new RemoveEntryProcessor(false),
+                this.resolveOfType(query, type));
+        getAdapter().invalidateAll(removed.keySet(), keyspace);
+        return removed.size();
+    }
+
+    /**
+     * <p>
+     * Execute {@code deleteBy*()} queries returning the deleted entities. Matching entries are removed by an entry
+     * processor that returns the value it removed.
+     * </P>
+     *
+     * @param query    Query to use, its criteria may be null to delete everything
+     * @param type     Only entries of this type or a subtype are removed
+     * @param keyspace The map name
+     * @return Entities removed
+     */
+    public Collection<?> deleteAndReturn(final KeyValueQuery<?> query, final Class<?> type, final String keyspace) {
+        final Map<Object, Object> removed = getRequiredMap(keyspace).executeOnEntries(new RemoveEntryProcessor(true),
+                this.resolveOfType(query, type));
+        getAdapter().invalidateAll(removed.keySet(), keyspace);
+        return removed.values();
+    }
+
+    /**
+     * <p>
+     * Execute {@code update*By*()} and {@code increment*By*()} queries. Matching entries are changed in place by the
+     * members that own them, and only a flag for each is returned.
+     * </P>
+     *
+     * @param query    Query to use, its criteria may be null to update everything
+     * @param update   Attributes to change
+     * @param keyspace The map name
+     * @return Number of entries changed
+     */
+    public long update(final KeyValueQuery<?> query, final UpdateEntryProcessor update, final String keyspace) {
+        final Map<Object, Boolean> updated = getRequiredMap(keyspace).executeOnEntries(update,
+                this.resolveOrMatchAll(query));
+        getAdapter().invalidateAll(updated.keySet(), keyspace);
+        return updated.values().stream().filter(Boolean.TRUE::equals).count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate<Object, Object> resolveOrMatchAll(final KeyValueQuery<?> query) {
+        final Predicate<?, ?> criteria = this.criteriaAccessor.resolve(query);
+        return criteria == null ? Predicates.alwaysTrue() : (Predicate<Object, Object>) criteria;
+    }
+
+    /* As KeyValueTemplate only deletes entries of the repository's type, so
+     * must a delete on the members, as other types may share the keyspace.
+     */
+    private Predicate<Object, Object> resolveOfType(final KeyValueQuery<?> query, final Class<?> type) {
+        return ofType(this.criteriaAccessor.resolve(query), type);
+    }
+
+    /* As KeyValueTemplate only returns entries of the requested type, so must
+     * queries run by the engine itself, as other types may share the keyspace.
+     * A partition predicate must stay outermost.
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object, Object> ofType(final Predicate<?, ?> criteria, final Class<?> type) {
+        final PartitionPredicate<?, ?> partitions = partitionsOf(criteria);
+        final Predicate<?, ?> target = (partitions != null ? partitions.getTarget() : criteria);
+        final Predicate<Object, Object> ofType = Predicates.instanceOf(type);
+        return routed(partitions, target == null ? ofType : Predicates.and(ofType, (Predicate<Object, Object>) target));
+    }
+
+    private IMap<Object, Object> getRequiredMap(final String keyspace) {
+        final HazelcastKeyValueAdapter adapter = getAdapter();
+        Assert.notNull(adapter, "Adapter must not be 'null'.");
+        return adapter.getMap(keyspace);
+    }
+
+    /* Iterate batches in turn, fetching the next only when the current one
+     * is used up. The supplier returns null when there are no more.
+     */
+    private static final class BatchIterator
+            implements Iterator<Object> {
+        private final Supplier<Collection<?>> batches;
+        private Iterator<?> current = Collections.emptyIterator();
+
+        BatchIterator(Supplier<Collection<?>> batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.current.hasNext()) {
+                Collection<?> batch = this.batches.get();
+                if (batch == null) {
+                    return false;
+                }
+                this.current = batch.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.current.next();
+        }
     }
 
 }
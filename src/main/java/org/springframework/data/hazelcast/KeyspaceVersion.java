@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryMergedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Counts the changes to one map, so a cached query result can be recognised as out of date by the version it was read
+ * at. Any change to the map makes every cached result for it out of date, as a change to one entry can alter the
+ * result of any query.
+ * </P>
+ */
+final class KeyspaceVersion
+        implements EntryAddedListener<Object, Object>, EntryUpdatedListener<Object, Object>,
+                   EntryRemovedListener<Object, Object>, EntryEvictedListener<Object, Object>,
+                   EntryExpiredListener<Object, Object>, EntryMergedListener<Object, Object>, MapClearedListener,
+                   MapEvictedListener {
+
+    private final AtomicLong version = new AtomicLong();
+
+    long get() {
+        return this.version.get();
+    }
+
+    void increment() {
+        this.version.incrementAndGet();
+    }
+
+    @Override
+    public void entryAdded(EntryEvent<Object, Object> event) {
+        increment();
+    }
+
+    @Override
+    public void entryUpdated(EntryEvent<Object, Object> event) {
+        increment();
+    }
+
+    @Override
+    public void entryRemoved(EntryEvent<Object, Object> event) {
+        increment();
+    }
+
+    @Override
+    public void entryEvicted(EntryEvent<Object, Object> event) {
+        increment();
+    }
+
+    @Override
+    public void entryExpired(EntryEvent<Object, Object> event) {
+        increment();
+    }
+
+    @Override
+    public void entryMerged(EntryEvent<Object, Object> event) {
+        increment();
+    }
+
+    @Override
+    public void mapCleared(MapEvent event) {
+        increment();
+    }
+
+    @Override
+    public void mapEvicted(MapEvent event) {
+        increment();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryMergedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+import org.springframework.util.Assert;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * Local copy of recently read entries of one map, bounded in size and optionally in age.
+ * </P>
+ * <p>
+ * Entries are held in access order, so {@link EvictionPolicy#LRU LRU} eviction drops the first. {@link
+ * EvictionPolicy#LFU LFU} eviction drops the least read of the first {@value #LFU_SAMPLE_SIZE}, approximating true
+ * LFU without scanning the whole cache, as Hazelcast's own eviction does.
+ * </P>
+ * <p>
+ * A read that misses {@link #reserve() reserves} before fetching from the cluster, and the fetched value is only
+ * {@link #put(Object, Object, long) stored} if nothing was invalidated meanwhile. Otherwise an invalidation arriving
+ * while the fetch is in flight could be overtaken by the stale value it was meant to remove.
+ * </P>
+ * <p>
+ * Values are held serialized, as in Hazelcast's own near cache with the default binary in-memory format, so each read
+ * returns its own copy and a caller modifying it cannot change what later reads see.
+ * </P>
+ */
+final class NearCache
+        implements EntryUpdatedListener<Object, Object>, EntryRemovedListener<Object, Object>,
+                   EntryEvictedListener<Object, Object>, EntryExpiredListener<Object, Object>,
+                   EntryMergedListener<Object, Object>, MapClearedListener, MapEvictedListener {
+
+    static final int LFU_SAMPLE_SIZE = 16;
+
+    private final int maxSize;
+    private final EvictionPolicy evictionPolicy;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+    private final SerializationService serializationService;
+    private final LinkedHashMap<Object, CachedValue> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+
+    NearCache(int maxSize, EvictionPolicy evictionPolicy, int timeToLiveSeconds,
+              SerializationService serializationService) {
+        this(maxSize, evictionPolicy, timeToLiveSeconds, serializationService, System::nanoTime);
+    }
+
+    NearCache(int maxSize, EvictionPolicy evictionPolicy, int timeToLiveSeconds,
+              SerializationService serializationService, LongSupplier clock) {
+        Assert.isTrue(maxSize > 0, "maxSize must be positive.");
+        Assert.isTrue(evictionPolicy == EvictionPolicy.LRU || evictionPolicy == EvictionPolicy.LFU,
+                "evictionPolicy must be LRU or LFU.");
+        Assert.isTrue(timeToLiveSeconds >= 0, "timeToLiveSeconds must not be negative.");
+        Assert.notNull(serializationService, "serializationService must not be 'null'.");
+        this.maxSize = maxSize;
+        this.evictionPolicy = evictionPolicy;
+        this.timeToLiveNanos = timeToLiveSeconds == 0 ? 0 : TimeUnit.SECONDS.toNanos(timeToLiveSeconds);
+        this.clock = clock;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * @param key Key of the entry
+     * @return A copy of the cached value, or {@code null} if absent or expired
+     */
+    Object get(Object key) {
+        Data value = this.getData(key);
+        return value == null ? null : this.serializationService.toObject(value);
+    }
+
+    /* Deserialize outside the lock, as each read has its own copy.
+     */
+    private synchronized Data getData(Object key) {
+        CachedValue cached = this.entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (this.timeToLiveNanos != 0 && this.clock.getAsLong() - cached.storedAt >= this.timeToLiveNanos) {
+            this.entries.remove(key);
+            return null;
+        }
+        cached.reads++;
+        return cached.value;
+    }
+
+    /**
+     * @return A token to pass to {@link #put(Object, Object, long)} once the value is fetched
+     */
+    synchronized long reserve() {
+        return this.invalidations;
+    }
+
+    /**
+     * <p>
+     * Hold a value fetched from the cluster, unless an invalidation has happened since the fetch began.
+     * </P>
+     *
+     * @param key         Key of the entry
+     * @param value       Value read from the cluster, ignored if {@code null}
+     * @param reservation Result of {@link #reserve()} before the value was read
+     */
+    void put(Object key, Object value, long reservation) {
+        if (value != null) {
+            this.putData(key, this.serializationService.toData(value), reservation);
+        }
+    }
+
+    private synchronized void putData(Object key, Data value, long reservation) {
+        if (reservation != this.invalidations) {
+            return;
+        }
+        if (!this.entries.containsKey(key) && this.entries.size() >= this.maxSize) {
+            evict();
+        }
+        this.entries.put(key, new CachedValue(value, this.clock.getAsLong()));
+    }
+
+    synchronized void invalidate(Object key) {
+        this.invalidations++;
+        this.entries.remove(key);
+    }
+
+    synchronized void invalidateAll() {
+        this.invalidations++;
+        this.entries.clear();
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Object, CachedValue>> iterator = this.entries.entrySet().iterator();
+        if (this.evictionPolicy == EvictionPolicy.LRU) {
+            iterator.next();
+            iterator.remove();
+            return;
+        }
+        Object victim = null;
+        long fewestReads = Long.MAX_VALUE;
+        for (int i = 0; i < LFU_SAMPLE_SIZE && iterator.hasNext(); i++) {
+            Map.Entry<Object, CachedValue> candidate = iterator.next();
+            if (candidate.getValue().reads < fewestReads) {
+                victim = candidate.getKey();
+                fewestReads = candidate.getValue().reads;
+            }
+        }
+        this.entries.remove(victim);
+    }
+
+    @Override
+    public void entryUpdated(EntryEvent<Object, Object> event) {
+        invalidate(event.getKey());
+    }
+
+    @Override
+    public void entryRemoved(EntryEvent<Object, Object> event) {
+        invalidate(event.getKey());
+    }
+
+    @Override
+    public void entryEvicted(EntryEvent<Object, Object> event) {
+        invalidate(event.getKey());
+    }
+
+    @Override
+    public void entryExpired(EntryEvent<Object, Object> event) {
+        invalidate(event.getKey());
+    }
+
+    @Override
+    public void entryMerged(EntryEvent<Object, Object> event) {
+        invalidate(event.getKey());
+    }
+
+    @Override
+    public void mapCleared(MapEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void mapEvicted(MapEvent event) {
+        invalidateAll();
+    }
+
+    private static final class CachedValue {
+        private final Data value;
+        private final long storedAt;
+        private long reads;
+
+        CachedValue(Data value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Remembers the page anchors of paged queries between calls, so a request for page <I>n</I> can resume from the last
+ * entry of page <I>n-1</I> rather than have every partition sort and return the first <I>(n+1) * pageSize</I> entries.
+ * </P>
+ * <p>
+ * Anchors are held per keyspace, predicate, comparator and page size, and the least recently used query is dropped
+ * once {@code maxQueries} is exceeded. Anchors are not invalidated by writes, so pages reached through a remembered
+ * anchor follow cursor semantics: entries inserted before the anchor after it was recorded are not seen.
+ * </P>
+ */
+class PagingAnchorCache {
+
+    private final Map<AnchorKey, List<Map.Entry<Integer, Map.Entry<Object, Object>>>> anchors;
+
+    PagingAnchorCache(final int maxQueries) {
+        this.anchors = Collections.synchronizedMap(
+                new LinkedHashMap<AnchorKey, List<Map.Entry<Integer, Map.Entry<Object, Object>>>>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<AnchorKey, List<Map.Entry<Integer, Map.Entry<Object, Object>>>> eldest) {
+                        return size() > maxQueries;
+                    }
+                });
+    }
+
+    /**
+     * <p>
+     * Seed a paging predicate with any anchors recorded by earlier executions of the same query.
+     * </P>
+     *
+     * @param keyspace        The map name
+     * @param pagingPredicate Positioned on the required page
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void restore(final String keyspace, final PagingPredicateImpl pagingPredicate) {
+        if (pagingPredicate.getPage() == 0) {
+            return;
+        }
+        List<Map.Entry<Integer, Map.Entry<Object, Object>>> known = this.anchors.get(keyOf(keyspace, pagingPredicate));
+        if (known != null) {
+            pagingPredicate.setAnchorList((List) new ArrayList<>(known));
+        }
+    }
+
+    /**
+     * <p>
+     * Record the anchors a paging predicate collected during execution, if they extend what is already known.
+     * </P>
+     *
+     * @param keyspace        The map name
+     * @param pagingPredicate Executed predicate
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void save(final String keyspace, final PagingPredicateImpl pagingPredicate) {
+        List<Map.Entry<Integer, Map.Entry<Object, Object>>> collected = (List) pagingPredicate.getAnchorList();
+        if (collected == null || collected.isEmpty()) {
+            return;
+        }
+        AnchorKey key = keyOf(keyspace, pagingPredicate);
+        List<Map.Entry<Integer, Map.Entry<Object, Object>>> copy = Collections.unmodifiableList(new ArrayList<>(collected));
+        this.anchors.merge(key, copy, (previous, latest) -> latest.size() >= previous.size() ? latest : previous);
+    }
+
+    private static AnchorKey keyOf(final String keyspace, final PagingPredicateImpl<?, ?> pagingPredicate) {
+        return new AnchorKey(keyspace, pagingPredicate.getPredicate(), pagingPredicate.getComparator(),
+                pagingPredicate.getPageSize());
+    }
+
+    /* Anchors are only reusable for an identical query, as they are positions
+     * in one specific collation of one specific result set.
+     */
+    private static final class AnchorKey {
+        private final String keyspace;
+        private final Predicate<?, ?> predicate;
+        private final Comparator<?> comparator;
+        private final int pageSize;
+
+        AnchorKey(String keyspace, Predicate<?, ?> predicate, Comparator<?> comparator, int pageSize) {
+            this.keyspace = keyspace;
+            this.predicate = predicate;
+            this.comparator = comparator;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AnchorKey)) {
+                return false;
+            }
+            AnchorKey that = (AnchorKey) o;
+            return pageSize == that.pageSize && keyspace.equals(that.keyspace) && Objects.equals(predicate, that.predicate)
+                    && Objects.equals(comparator, that.comparator);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyspace, predicate, comparator, pageSize);
+        }
+    }
+}
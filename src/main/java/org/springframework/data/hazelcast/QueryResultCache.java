@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Results of one query method, held per distinct set of parameters until anything in the method's keyspace changes.
+ * Obtained from {@link HazelcastKeyValueAdapter#getQueryResultCache(String, String, int)}, which also lists every
+ * cache so their hit and miss counts can be monitored.
+ * </P>
+ * <p>
+ * Results are checked against a version of the keyspace that local writes advance at once, and writes elsewhere in
+ * the cluster advance when the adapter's entry listener is told of them. Results are shared between callers and must
+ * not be modified.
+ * </P>
+ */
+public final class QueryResultCache {
+
+    private final String name;
+    private final KeyspaceVersion keyspaceVersion;
+    private final Map<ParametersKey, VersionedResult> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    QueryResultCache(final String name, final int maxEntries, final KeyspaceVersion keyspaceVersion) {
+        this.name = name;
+        this.keyspaceVersion = keyspaceVersion;
+        this.results = Collections.synchronizedMap(new LinkedHashMap<ParametersKey, VersionedResult>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ParametersKey, VersionedResult> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * <p>
+     * Return the result held for the parameters, running the query only if none is held or the keyspace has changed
+     * since it was read.
+     * </P>
+     *
+     * @param parameters Parameters the query method was invoked with
+     * @param query      Runs the query
+     * @return The result
+     */
+    public Object get(final Object[] parameters, final Supplier<Object> query) {
+        ParametersKey key = new ParametersKey(parameters);
+        long version = this.keyspaceVersion.get();
+
+        VersionedResult cached = this.results.get(key);
+        if (cached != null && cached.version == version) {
+            this.hits.increment();
+            return cached.result;
+        }
+
+        this.misses.increment();
+        Object result = query.get();
+        this.results.put(key, new VersionedResult(result, version));
+        return result;
+    }
+
+    /**
+     * @return Repository and method the results are for
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return Number of parameter sets a result is held for, including any out of date
+     */
+    public int size() {
+        return this.results.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[hits=%d, misses=%d, size=%d]", this.name, getHits(), getMisses(), size());
+    }
+
+    /* Parameters may be arrays, such as varargs, which need comparing by content.
+     */
+    private static final class ParametersKey {
+        private final Object[] parameters;
+        private final int hashCode;
+
+        ParametersKey(Object[] parameters) {
+            this.parameters = parameters.clone();
+            this.hashCode = Arrays.deepHashCode(this.parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof ParametersKey && Arrays.deepEquals(parameters, ((ParametersKey) o).parameters));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class VersionedResult {
+        private final Object result;
+        private final long version;
+
+        VersionedResult(Object result, long version) {
+            this.result = result;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * Removes each entry it is applied to, on the member that owns the entry. The same processor is applied to backup
+ * replicas.
+ * </P>
+ * <p>
+ * Returns the removed value only if asked to, so a caller that only needs to know how many entries were removed
+ * receives keys and a flag rather than every entity.
+ * </P>
+ */
+final class RemoveEntryProcessor
+        implements EntryProcessor<Object, Object, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean returnValue;
+
+    RemoveEntryProcessor(boolean returnValue) {
+        this.returnValue = returnValue;
+    }
+
+    @Override
+    public Object process(Map.Entry<Object, Object> entry) {
+        Object value = entry.getValue();
+        if (value == null) {
+            return null;
+        }
+        entry.setValue(null);
+        return this.returnValue ? value : Boolean.TRUE;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * <p>
+ * Changes selected attributes of each entry it is applied to, on the member that owns the entry, so an entity is
+ * neither fetched nor sent back whole to change one field. The same processor is applied to backup replicas. Returns
+ * only a flag for each entry changed.
+ * </P>
+ * <p>
+ * Attributes are fields of the entity, or of objects it holds for dotted paths such as {@code address.city}, and are
+ * set directly rather than through setters. Numeric fields may instead be {@link #increment(String[], Object[])
+ * incremented}, a missing boxed value counting as zero.
+ * </P>
+ * <p>
+ * The processor runs on the members, so uses only JDK reflection. Values are not checked against the fields there,
+ * callers such as repository update methods check them before the processor is sent.
+ * </P>
+ */
+public final class UpdateEntryProcessor
+        implements EntryProcessor<Object, Object, Boolean> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] attributes;
+    private final Object[] values;
+    private final boolean increment;
+
+    private UpdateEntryProcessor(String[] attributes, Object[] values, boolean increment) {
+        if (attributes == null || attributes.length == 0) {
+            throw new IllegalArgumentException("attributes must not be empty.");
+        }
+        if (values == null || attributes.length != values.length) {
+            throw new IllegalArgumentException("A value is needed for each attribute.");
+        }
+        this.attributes = attributes.clone();
+        this.values = values.clone();
+        this.increment = increment;
+    }
+
+    /**
+     * @param attributes Attribute paths to change
+     * @param values     New value for each attribute
+     * @return A processor setting the attributes
+     */
+    public static UpdateEntryProcessor set(String[] attributes, Object[] values) {
+        return new UpdateEntryProcessor(attributes, values, false);
+    }
+
+    /**
+     * @param attributes Numeric attribute paths to change
+     * @param deltas     Amount to add to each attribute, may be negative
+     * @return A processor adding to the attributes
+     */
+    public static UpdateEntryProcessor increment(String[] attributes, Object[] deltas) {
+        for (Object delta : deltas) {
+            if (!(delta instanceof Number)) {
+                throw new IllegalArgumentException("Increments must be numbers.");
+            }
+        }
+        return new UpdateEntryProcessor(attributes, deltas, true);
+    }
+
+    @Override
+    public Boolean process(Map.Entry<Object, Object> entry) {
+        Object value = entry.getValue();
+        if (value == null) {
+            return null;
+        }
+        for (int i = 0; i < this.attributes.length; i++) {
+            update(value, this.attributes[i], this.values[i]);
+        }
+        entry.setValue(value);
+        return Boolean.TRUE;
+    }
+
+    private void update(Object target, String attribute, Object value) {
+        Object owner = target;
+        String[] path = attribute.split("\\.");
+        for (int i = 0; i < path.length - 1; i++) {
+            owner = get(field(owner, path[i], attribute), owner);
+            if (owner == null) {
+                throw new IllegalStateException(String.format("Cannot set '%s', '%s' is null", attribute, path[i]));
+            }
+        }
+        Field field = field(owner, path[path.length - 1], attribute);
+        Object newValue = (this.increment ? add(field, get(field, owner), (Number) value) : value);
+        try {
+            field.set(owner, newValue);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Cannot set '%s'", attribute), e);
+        }
+    }
+
+    private static Object get(Field field, Object owner) {
+        try {
+            return field.get(owner);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Cannot read '%s'", field.getName()), e);
+        }
+    }
+
+    private static Field field(Object owner, String name, String attribute) {
+        for (Class<?> type = owner.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException ignored) {
+                // Try the superclass
+            }
+        }
+        throw new IllegalArgumentException(String.format("No field '%s' on %s for '%s'", name,
+                owner.getClass().getName(), attribute));
+    }
+
+    /**
+     * <p>
+     * Whether a field can be incremented by this processor.
+     * </P>
+     *
+     * @param type Type of the field
+     * @return True for the primitive and boxed numeric types, {@link BigDecimal} and {@link BigInteger}
+     */
+    public static boolean isIncrementable(Class<?> type) {
+        return type == int.class || type == Integer.class || type == long.class || type == Long.class
+                || type == double.class || type == Double.class || type == float.class || type == Float.class
+                || type == short.class || type == Short.class || type == byte.class || type == Byte.class
+                || type == BigDecimal.class || type == BigInteger.class;
+    }
+
+    private static Object add(Field field, Object current, Number delta) {
+        Class<?> type = field.getType();
+        if (type == int.class || type == Integer.class) {
+            return (current == null ? 0 : (Integer) current) + delta.intValue();
+        }
+        if (type == long.class || type == Long.class) {
+            return (current == null ? 0L : (Long) current) + delta.longValue();
+        }
+        if (type == double.class || type == Double.class) {
+            return (current == null ? 0D : (Double) current) + delta.doubleValue();
+        }
+        if (type == float.class || type == Float.class) {
+            return (current == null ? 0F : (Float) current) + delta.floatValue();
+        }
+        if (type == short.class || type == Short.class) {
+            return (short) ((current == null ? 0 : (Short) current) + delta.shortValue());
+        }
+        if (type == byte.class || type == Byte.class) {
+            return (byte) ((current == null ? 0 : (Byte) current) + delta.byteValue());
+        }
+        if (type == BigDecimal.class) {
+            BigDecimal amount = (delta instanceof BigDecimal ? (BigDecimal) delta : new BigDecimal(delta.toString()));
+            return (current == null ? BigDecimal.ZERO : (BigDecimal) current).add(amount);
+        }
+        if (type == BigInteger.class) {
+            BigInteger amount = (delta instanceof BigInteger ? (BigInteger) delta : BigInteger.valueOf(delta.longValue()));
+            return (current == null ? BigInteger.ZERO : (BigInteger) current).add(amount);
+        }
+        throw new IllegalArgumentException(String.format("Cannot increment '%s' of type %s", field.getName(),
+                type.getName()));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+/**
+ * <p>
+ * How {@link HazelcastKeyValueAdapter} stores entries on save.
+ * </P>
+ */
+public enum WriteMode {
+
+    /**
+     * <p>
+     * {@code IMap.put()}, the previous value is returned to the caller, and so to any {@code AfterSaveEvent}.
+     * </P>
+     */
+    PUT,
+
+    /**
+     * <p>
+     * {@code IMap.set()}, waits for the write but the previous value is not sent back.
+     * </P>
+     */
+    SET,
+
+    /**
+     * <p>
+     * {@code IMap.setAsync()}, returns once the write is sent. Failures are logged rather than thrown, and a read
+     * immediately after a save may not see it.
+     * </P>
+     */
+    SET_ASYNC
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.annotation;
+
+import com.hazelcast.config.IndexType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Declare an index over several attributes of a domain class, such as {@code lastname} then {@code firstname}. A
+ * sorted composite index can serve queries on a leading subset of its attributes, a hash composite index only queries
+ * on all of them.
+ * </P>
+ *
+ * @see Indexed
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(CompositeIndexes.class)
+public @interface CompositeIndexed {
+
+    /**
+     * @return Attributes indexed, in order, which may be paths such as {@code address.city}
+     */
+    String[] attributes();
+
+    /**
+     * @return The kind of index, sorted by default. Bitmap indexes cannot be composite
+     */
+    IndexType type() default IndexType.SORTED;
+
+    /**
+     * @return Name of the index, generated by Hazelcast if empty
+     */
+    String name() default "";
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Serve every read of a domain class's keyspace from a local Continuous Query Cache, a copy of the map kept up to date
+ * by the cluster, rather than from the map itself. Reads by id, counts and queries then need no round trip to the
+ * cluster. Writes still go to the map. Suited to small, lookup heavy keyspaces, as each repository holds the whole
+ * keyspace in memory.
+ * </P>
+ * <p>
+ * The cache is created when a repository for the class is created, with local copies of the indexes declared by
+ * {@link Indexed}, {@link CompositeIndexed} and {@link GeoIndexed}. It is updated asynchronously, so a read may not yet
+ * see a write just made, even by the same caller. Cached entities are shared and must not be modified.
+ * </P>
+ *
+ * @see org.springframework.data.hazelcast.HazelcastKeyValueAdapter#setContinuousQueryCache(String, java.util.Collection)
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ContinuousQueryCached {
+}
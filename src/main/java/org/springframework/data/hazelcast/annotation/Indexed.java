@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.annotation;
+
+import com.hazelcast.config.IndexType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Mark a field of a domain class as indexed. When a repository for the class is created, the index is added to the
+ * map for the class's keyspace, if not already present.
+ * </P>
+ * <p>
+ * A {@link IndexType#SORTED SORTED} index serves equality and range queries and sorting, a {@link IndexType#HASH
+ * HASH} index only equality, and a {@link IndexType#BITMAP BITMAP} index equality on low cardinality attributes.
+ * </P>
+ *
+ * @see CompositeIndexed
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Indexed {
+
+    /**
+     * @return The kind of index, sorted by default
+     */
+    IndexType type() default IndexType.SORTED;
+
+    /**
+     * @return Name of the index, generated by Hazelcast if empty
+     */
+    String name() default "";
+}
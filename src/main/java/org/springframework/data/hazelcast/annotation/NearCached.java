@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.annotation;
+
+import com.hazelcast.config.EvictionPolicy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Keep a local copy of the entries of a domain class that are read by id, so repeated {@code findById()} calls for
+ * the same entry are answered without a round trip to the cluster. Suited to read-mostly reference data.
+ * </P>
+ * <p>
+ * Entries are dropped when changed or removed anywhere in the cluster, as reported by an entry listener on the map, so
+ * a read shortly after a write elsewhere may still see the previous value. Entries are held serialized and each read
+ * deserializes its own copy, so modifying a returned entity does not change what later reads see.
+ * </P>
+ *
+ * @see org.springframework.data.hazelcast.HazelcastKeyValueAdapter#setNearCache(String, int, EvictionPolicy, int)
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface NearCached {
+
+    /**
+     * @return Most entries to hold, once reached the {@link #evictionPolicy()} chooses one to drop
+     */
+    int maxSize() default 10_000;
+
+    /**
+     * @return {@link EvictionPolicy#LRU LRU} or {@link EvictionPolicy#LFU LFU}
+     */
+    EvictionPolicy evictionPolicy() default EvictionPolicy.LRU;
+
+    /**
+     * @return Seconds an entry is held before it is read from the cluster again, zero for no limit
+     */
+    int timeToLiveSeconds() default 0;
+}
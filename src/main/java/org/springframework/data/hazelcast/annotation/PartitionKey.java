@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Mark the field of a domain class that decides which partition its entries are stored in. The map key of each entry
+ * must be partitioned by this field's value, for example an id that implements
+ * {@link com.hazelcast.partition.PartitionAware PartitionAware} and returns the value from
+ * {@code getPartitionKey()}.
+ * </P>
+ * <p>
+ * A derived query whose criteria fix this field, with {@code Is} or {@code In}, in every {@code Or} branch then only
+ * runs on the partitions owning those values, rather than on every partition in the cluster. As the value is used as
+ * the partition key as it is, it must be of the same type as the id's partition key.
+ * </P>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface PartitionKey {
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository;
+
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>
+ * A {@link HazelcastRepository} with non-blocking variants of the key based operations, built on the asynchronous
+ * {@code IMap} operations so that many can be in flight from one thread.
+ * </P>
+ * <p>
+ * Query methods can also return a {@link CompletableFuture}. Hazelcast has no asynchronous predicate query, so annotate
+ * these with {@link org.springframework.scheduling.annotation.Async @Async} to run them on an executor.
+ * </P>
+ *
+ * @param <T>  The type of the domain value class
+ * @param <ID> The type of the domain key class
+ */
+@NoRepositoryBean
+public interface HazelcastAsyncRepository<T extends Serializable, ID extends Serializable>
+        extends HazelcastRepository<T, ID> {
+
+    /**
+     * <p>
+     * Save an entity without waiting for the write. An entity without an id is saved synchronously, so one can be
+     * generated for it.
+     * </P>
+     *
+     * @param entity Entity to save
+     * @param <S>    Entity type
+     * @return Completes with the saved entity
+     */
+    <S extends T> CompletableFuture<S> saveAsync(S entity);
+
+    /**
+     * @param id Key of the entity
+     * @return Completes with the entity, or empty if not found
+     */
+    CompletableFuture<Optional<T>> findByIdAsync(ID id);
+
+    /**
+     * @param id Key of the entity
+     * @return Completes once removed
+     */
+    CompletableFuture<Void> deleteByIdAsync(ID id);
+}
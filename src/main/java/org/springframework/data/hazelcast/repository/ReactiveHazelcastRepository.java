@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository;
+
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * Reactive counterpart of {@link HazelcastRepository}, enabled with
+ * {@link org.springframework.data.hazelcast.repository.config.EnableReactiveHazelcastRepositories
+ * &#64;EnableReactiveHazelcastRepositories}.
+ * </P>
+ * <p>
+ * Key based operations use the asynchronous {@code IMap} operations and so do not block. Hazelcast has no asynchronous
+ * predicate query, so query methods returning {@code Flux} or {@code Mono} run on the bounded elastic scheduler, and
+ * results are emitted on demand.
+ * </P>
+ *
+ * @param <T>  The type of the domain value class
+ * @param <ID> The type of the domain key class
+ */
+@NoRepositoryBean
+public interface ReactiveHazelcastRepository<T extends Serializable, ID extends Serializable>
+        extends ReactiveSortingRepository<T, ID> {
+}
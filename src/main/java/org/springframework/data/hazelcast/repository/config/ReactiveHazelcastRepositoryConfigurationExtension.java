@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.config;
+
+import org.springframework.data.hazelcast.repository.ReactiveHazelcastRepository;
+import org.springframework.data.repository.config.RepositoryConfigurationExtension;
+import org.springframework.data.repository.core.RepositoryMetadata;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Reactive Hazelcast {@link RepositoryConfigurationExtension}, sharing the adapter and template beans of
+ * {@link HazelcastRepositoryConfigurationExtension} but only accepting reactive repositories.
+ */
+class ReactiveHazelcastRepositoryConfigurationExtension
+        extends HazelcastRepositoryConfigurationExtension {
+
+    @Override
+    public String getModuleName() {
+        return "Reactive Hazelcast";
+    }
+
+    @Override
+    protected Collection<Class<?>> getIdentifyingTypes() {
+        return Collections.singleton(ReactiveHazelcastRepository.class);
+    }
+
+    @Override
+    protected boolean useRepositoryConfiguration(RepositoryMetadata metadata) {
+        return metadata.isReactiveRepository();
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Read attributes of domain objects for comparators, such as {@code lastname} or {@code location.x}.
+ * </P>
+ * <p>
+ * Each step of an attribute path is resolved once per class to a method handle on its getter or field, and cached, so
+ * reading an attribute is a cache lookup and a direct call rather than a reflective search. Getters are preferred to
+ * fields, in the order {@code getX()}, {@code isX()}, {@code x()}, as Hazelcast does. Attributes that cannot be
+ * resolved this way, such as the Hazelcast specific {@code [any]} syntax, are read with Hazelcast's own reflection.
+ * </P>
+ * <p>
+ * Comparators using this run on the members, so only JDK and Hazelcast classes are used here.
+ * </P>
+ */
+final class AttributeReader {
+
+    private static final MethodType OBJECT_TO_OBJECT = MethodType.methodType(Object.class, Object.class);
+
+    /* Marks a step that could not be resolved to a getter or field.
+     */
+    private static final MethodHandle UNRESOLVED = MethodHandles.identity(Object.class);
+
+    private static final int MAX_ACCESSORS_PER_CLASS = 256;
+
+    private static final ClassValue<Map<String, MethodHandle>> ACCESSORS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodHandle EXTRACT_VALUE_HAZELCAST_41 = resolveExtractValueHazelcast41();
+    private static final MethodHandle EXTRACT_VALUE_HAZELCAST_403 = resolveExtractValueHazelcast403();
+
+    private AttributeReader() {
+    }
+
+    /**
+     * @param attributeName Attribute, possibly a path of steps separated by dots
+     * @return The steps of the attribute path
+     */
+    static String[] path(String attributeName) {
+        return attributeName.split("\\.");
+    }
+
+    /**
+     * <p>
+     * Read an attribute by its path, as from {@link #path}.
+     * </P>
+     *
+     * @param target        Object to read, may be null
+     * @param path          Steps of the attribute path
+     * @param attributeName The whole path, for Hazelcast's reflection if a step cannot be resolved
+     * @return The attribute's value, null if it or an object on the path is null
+     */
+    static Object read(Object target, String[] path, String attributeName) {
+        Object value = target;
+        for (String step : path) {
+            if (value == null) {
+                return null;
+            }
+            MethodHandle accessor = accessor(value.getClass(), step);
+            if (accessor == UNRESOLVED) {
+                return extractValue(target, attributeName);
+            }
+            try {
+                value = accessor.invokeExact(value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(String.format("Could not read '%s' of %s", step, value.getClass()),
+                        throwable);
+            }
+        }
+        return value;
+    }
+
+    private static MethodHandle accessor(Class<?> type, String step) {
+        Map<String, MethodHandle> accessors = ACCESSORS.get(type);
+        MethodHandle accessor = accessors.get(step);
+        /* Unresolved steps are kept too, so they are not searched for on every
+         * read. Names come from outside, such as sort parameters, so a class
+         * keeps at most a fixed number of them and further ones are searched
+         * for each time.
+         */
+        if (accessor == null) {
+            accessor = resolve(type, step);
+            if (accessors.size() < MAX_ACCESSORS_PER_CLASS) {
+                accessors.put(step, accessor);
+            }
+        }
+        return accessor;
+    }
+
+    private static MethodHandle resolve(Class<?> type, String step) {
+        try {
+            String capitalized = step.isEmpty() ? step : Character.toUpperCase(step.charAt(0)) + step.substring(1);
+            for (String methodName : new String[]{"get" + capitalized, "is" + capitalized, step}) {
+                Method method = findMethod(type, methodName);
+                if (method != null && method.getReturnType() != void.class) {
+                    method.setAccessible(true);
+                    return MethodHandles.lookup().unreflect(method).asType(OBJECT_TO_OBJECT);
+                }
+            }
+
+            Field field = findField(type, step);
+            if (field != null) {
+                field.setAccessible(true);
+                return MethodHandles.lookup().unreflectGetter(field).asType(OBJECT_TO_OBJECT);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            return UNRESOLVED;
+        }
+        return UNRESOLVED;
+    }
+
+    /* A no-argument method declared on the class or a superclass, or a public
+     * one inherited from an interface.
+     */
+    private static Method findMethod(Class<?> type, String methodName) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredMethod(methodName);
+            } catch (NoSuchMethodException ignored) {
+                // Try the superclass
+            }
+        }
+        try {
+            return type.getMethod(methodName);
+        } catch (NoSuchMethodException ignored) {
+            return null;
+        }
+    }
+
+    private static Field findField(Class<?> type, String fieldName) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException ignored) {
+                // Try the superclass
+            }
+        }
+        return null;
+    }
+
+    /**
+     * <p>
+     * Use Hazelcast's {@code ReflectionHelper}, for attributes that cannot be resolved to getters and fields.
+     * </P>
+     *
+     * @param target        Object to read
+     * @param attributeName Attribute path
+     * @return The attribute's value
+     */
+    static Object extractValue(Object target, String attributeName) {
+        if (EXTRACT_VALUE_HAZELCAST_41 == null && EXTRACT_VALUE_HAZELCAST_403 == null) {
+            throw new IllegalStateException("Could not resolve a ReflectionHelper.extractValue method. Using a non-supported Hazelcast version");
+        }
+
+        try {
+            if (EXTRACT_VALUE_HAZELCAST_403 != null) {
+                return EXTRACT_VALUE_HAZELCAST_403.invoke(target, attributeName);
+            } else {
+                return EXTRACT_VALUE_HAZELCAST_41.invoke(target, attributeName, true);
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Could not resolve a ReflectionHelper.extractValue method. Using a non-supported Hazelcast version", throwable);
+        }
+    }
+
+    private static MethodHandle resolveExtractValueHazelcast41() {
+        try {
+            return MethodHandles.lookup().findStatic(ReflectionHelper.class,
+              "extractValue", MethodType.methodType(Object.class, Object.class, String.class, boolean.class));
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+
+    private static MethodHandle resolveExtractValueHazelcast403() {
+        try {
+            return MethodHandles.lookup().findStatic(ReflectionHelper.class,
+                "extractValue", MethodType.methodType(Object.class, Object.class, String.class));
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Point;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * A {@link GeoPredicate} that does the work depending only on the query point once, when created, rather than for
+ * every entry it is applied to.
+ * </P>
+ * <p>
+ * The query point's latitude in radians and its cosine are kept, as is the bounding box of the search circle, so most
+ * entries far from the point are rejected by comparing coordinates. For the rest, the haversine term is compared with
+ * its value at the search distance, which is the same test as comparing distances without the square root, arcsine
+ * and metric conversion.
+ * </P>
+ *
+ * @param <K> key of map entry
+ * @param <V> value of map entry
+ */
+public class BoundedGeoPredicate<K, V>
+        extends GeoPredicate<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double queryX;
+    private final double queryY;
+    private final double queryCosX;
+    private final double maxHaversine;
+    private final GeoBoundingBox boundingBox;
+
+    /**
+     * @param attribute the name of the attribute in a object within Map which is of type Point.
+     * @param point     the source point from where the distance is calculated.
+     * @param distance  the Distance object with value and unit of distance.
+     */
+    public BoundedGeoPredicate(String attribute, Point point, Distance distance) {
+        super(attribute, point, distance);
+        this.queryX = point.getX();
+        this.queryY = point.getY();
+        this.queryCosX = Math.cos(Math.toRadians(point.getX()));
+
+        /* The distance is 2R.asin(sqrt(a)), increasing with a, so is less
+         * than d where a is less than sin(d/2R) squared. Beyond half the
+         * circumference every point is closer.
+         */
+        double halfAngle = GeoBoundingBox.kilometers(distance) / (2 * GeoPredicate.R);
+        this.maxHaversine = (halfAngle >= Math.PI / 2 ? Double.POSITIVE_INFINITY
+                : Math.sin(halfAngle) * Math.sin(halfAngle));
+        this.boundingBox = GeoBoundingBox.of(point, distance);
+    }
+
+    @Override
+    public boolean apply(Map.Entry<K, V> mapEntry) {
+        Object attributeValue = readAttributeValue(mapEntry);
+        if (!(attributeValue instanceof Point)) {
+            throw new IllegalArgumentException(String.format("Cannot use %s predicate with attribute other than Point",
+                    getClass().getSimpleName()));
+        }
+
+        Point point = (Point) attributeValue;
+        double x = point.getX();
+        double y = point.getY();
+        if (!this.boundingBox.contains(x, y)) {
+            return false;
+        }
+        if (x == this.queryX && y == this.queryY) {
+            return this.distance.getValue() > 0;
+        }
+
+        double sinHalfDeltaX = Math.sin(Math.toRadians(x - this.queryX) / 2);
+        double sinHalfDeltaY = Math.sin(Math.toRadians(y - this.queryY) / 2);
+        double haversine = sinHalfDeltaX * sinHalfDeltaX
+                + sinHalfDeltaY * sinHalfDeltaY * this.queryCosX * Math.cos(Math.toRadians(x));
+        return haversine < this.maxHaversine;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Reuse the result of a query method for repeated calls with the same parameters, until anything in the keyspace
+ * changes. Suited to queries that are repeated far more often than the keyspace is written, and applies to derived
+ * and {@link Query @Query} methods, other than those returning a {@code Stream} or deleting.
+ * </P>
+ * <p>
+ * Writes made elsewhere in the cluster are seen once the entry listener on the map is told of them, so a result may
+ * briefly be out of date. Hits and misses for each method are available from
+ * {@link org.springframework.data.hazelcast.HazelcastKeyValueAdapter#getQueryResultCaches()}.
+ * </P>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedResult {
+
+    /**
+     * Number of distinct parameter sets to hold results for, the least recently used is dropped beyond this.
+     */
+    int maxEntries() default 1000;
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Reuse the total element count of a {@code Page} returning query method for a while, rather than counting the matches
+ * again for every page requested. Totals are held per distinct query criteria, so different parameters get their own
+ * totals, and are not refreshed on writes so may be out of date by up to the time-to-live.
+ * </P>
+ * <p>
+ * Without this annotation, the count is still skipped where the page content alone determines the total, such as a
+ * first page that is not full.
+ * </P>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedTotal {
+
+    /**
+     * How long a total is reused for, in {@link #unit()}.
+     */
+    long value() default 30;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * Number of distinct query criteria to hold totals for.
+     */
+    int maxEntries() default 1000;
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * Time limited store of query totals for {@link CachedTotal} query methods.
+ * </P>
+ */
+class CachedTotals {
+
+    private static final Object NO_CRITERIA = new Object();
+
+    private final long timeToLiveNanos;
+    private final int maxEntries;
+    private final ConcurrentMap<Object, Total> totals = new ConcurrentHashMap<>();
+
+    CachedTotals(CachedTotal cachedTotal) {
+        this.timeToLiveNanos = cachedTotal.unit().toNanos(cachedTotal.value());
+        this.maxEntries = cachedTotal.maxEntries();
+    }
+
+    /**
+     * <p>
+     * Return the total for the criteria, counting only if none is held or the held one has expired.
+     * </P>
+     *
+     * @param criteria Query criteria, possibly null
+     * @param counter  Counts the matches for the criteria
+     * @return The total
+     */
+    long get(Object criteria, LongSupplier counter) {
+        final Object key = (criteria == null ? NO_CRITERIA : criteria);
+        final long now = System.nanoTime();
+
+        Total total = this.totals.get(key);
+        if (total != null && now - total.created < this.timeToLiveNanos) {
+            return total.value;
+        }
+
+        total = new Total(counter.getAsLong(), now);
+        if (this.totals.size() >= this.maxEntries) {
+            this.totals.clear();
+        }
+        this.totals.put(key, total);
+        return total.value;
+    }
+
+    private static final class Total {
+        private final long value;
+        private final long created;
+
+        Total(long value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
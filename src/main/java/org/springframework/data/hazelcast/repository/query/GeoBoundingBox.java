@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * The smallest latitude/longitude box containing every point within a distance of a centre, as used by
+ * {@link GeoPredicate}, where a point's {@code x} is its latitude and {@code y} its longitude, in degrees.
+ * </P>
+ * <p>
+ * Any point outside the box is further than the distance, so the box can discard candidates with comparisons before
+ * the exact distance is calculated. Where the circle reaches a pole or crosses the antimeridian the box spans every
+ * longitude.
+ * </P>
+ */
+final class GeoBoundingBox
+        implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /* Widen the box slightly, so rounding cannot exclude a point the distance
+     * calculation includes.
+     */
+    private static final double MARGIN = 1e-9;
+
+    private final double minX;
+    private final double maxX;
+    private final double minY;
+    private final double maxY;
+    private final boolean allY;
+
+    private GeoBoundingBox(double minX, double maxX, double minY, double maxY, boolean allY) {
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.allY = allY;
+    }
+
+    /**
+     * @param center   Centre of the search circle
+     * @param distance Radius of the search circle
+     * @return The box around the circle
+     */
+    static GeoBoundingBox of(Point center, Distance distance) {
+        double radians = kilometers(distance) / GeoPredicate.R + MARGIN;
+        double lat = Math.toRadians(center.getX());
+
+        double minLat = lat - radians;
+        double maxLat = lat + radians;
+        if (minLat <= -Math.PI / 2 || maxLat >= Math.PI / 2) {
+            return new GeoBoundingBox(Math.toDegrees(Math.max(minLat, -Math.PI / 2)),
+                    Math.toDegrees(Math.min(maxLat, Math.PI / 2)), -180, 180, true);
+        }
+
+        double lng = Math.toRadians(center.getY());
+        double deltaLng = Math.asin(Math.min(1, Math.sin(radians) / Math.cos(lat)));
+        double minLng = lng - deltaLng;
+        double maxLng = lng + deltaLng;
+        if (minLng < -Math.PI || maxLng > Math.PI) {
+            return new GeoBoundingBox(Math.toDegrees(minLat), Math.toDegrees(maxLat), -180, 180, true);
+        }
+
+        return new GeoBoundingBox(Math.toDegrees(minLat), Math.toDegrees(maxLat), Math.toDegrees(minLng),
+                Math.toDegrees(maxLng), false);
+    }
+
+    /**
+     * <p>
+     * The distance in kilometers, converting from the metrics {@link GeoPredicate} understands and treating any other
+     * as kilometers, as it does.
+     * </P>
+     *
+     * @param distance Value and metric
+     * @return Kilometers
+     */
+    static double kilometers(Distance distance) {
+        if (Metrics.MILES.equals(distance.getMetric())) {
+            return distance.getValue() / GeoPredicate.KM_TO_MILES;
+        }
+        if (Metrics.NEUTRAL.equals(distance.getMetric())) {
+            return distance.getValue() / GeoPredicate.KM_TO_NEUTRAL;
+        }
+        return distance.getValue();
+    }
+
+    /**
+     * @param x Latitude
+     * @param y Longitude
+     * @return False if the point is certainly outside the circle
+     */
+    boolean contains(double x, double y) {
+        return x >= this.minX && x <= this.maxX && (this.allY || (y >= this.minY && y <= this.maxY));
+    }
+
+    /**
+     * <p>
+     * Range predicates on the coordinates of a point attribute, which Hazelcast evaluates from sorted indexes on them
+     * if present.
+     * </P>
+     *
+     * @param attribute Name of a {@link Point} attribute
+     * @return Predicate matching points within the box
+     */
+    Predicate<?, ?> toPredicate(String attribute) {
+        Predicate<?, ?> x = Predicates.between(attribute + ".x", this.minX, this.maxX);
+        if (this.allY) {
+            return x;
+        }
+        return Predicates.and(x, Predicates.between(attribute + ".y", this.minY, this.maxY));
+    }
+}
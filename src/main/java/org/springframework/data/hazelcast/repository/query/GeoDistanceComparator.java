@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Order entries by the distance of a {@link Point} attribute from a query point, nearest first, for {@code Near} and
+ * {@code Within} queries. Entries without a point come last.
+ * </P>
+ * <p>
+ * Being serializable, it can be used in a paging predicate so each partition sorts its own matches and returns only
+ * the nearest {@code K}, leaving the caller to merge those. Entries are compared by the haversine term rather than the
+ * distance itself, which orders them the same without the square root and arcsine.
+ * </P>
+ */
+public class GeoDistanceComparator
+        implements Comparator<Entry<?, ?>>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String attributeName;
+    private final Point point;
+    private final Metric metric;
+    private final double cosX;
+    private transient String[] path;
+
+    /**
+     * @param attributeName Name of the {@link Point} attribute
+     * @param point         Point to measure from
+     * @param metric        Metric for distances reported by {@link #distance}
+     */
+    public GeoDistanceComparator(String attributeName, Point point, Metric metric) {
+        this.attributeName = attributeName;
+        this.point = point;
+        this.metric = metric;
+        this.cosX = Math.cos(Math.toRadians(point.getX()));
+    }
+
+    @Override
+    public int compare(Entry<?, ?> o1, Entry<?, ?> o2) {
+        return Double.compare(haversine(o1.getValue()), haversine(o2.getValue()));
+    }
+
+    /**
+     * @param entity Domain object with the point attribute
+     * @return Distance of its point from the query point in the query's metric, or {@code null} if it has no point
+     */
+    public Distance distance(Object entity) {
+        double haversine = haversine(entity);
+        if (Double.isInfinite(haversine)) {
+            return null;
+        }
+
+        double kilometers = 2 * GeoPredicate.R * Math.asin(Math.sqrt(Math.min(1, haversine)));
+        if (Metrics.MILES.equals(this.metric)) {
+            return new Distance(kilometers * GeoPredicate.KM_TO_MILES, this.metric);
+        }
+        if (Metrics.NEUTRAL.equals(this.metric)) {
+            return new Distance(kilometers * GeoPredicate.KM_TO_NEUTRAL, this.metric);
+        }
+        return new Distance(kilometers, this.metric);
+    }
+
+    public Metric getMetric() {
+        return this.metric;
+    }
+
+    private double haversine(Object entity) {
+        String[] path = this.path;
+        if (path == null) {
+            path = AttributeReader.path(this.attributeName);
+            this.path = path;
+        }
+
+        Object value = AttributeReader.read(entity, path, this.attributeName);
+        if (!(value instanceof Point)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        Point other = (Point) value;
+        double sinHalfDeltaX = Math.sin(Math.toRadians(other.getX() - this.point.getX()) / 2);
+        double sinHalfDeltaY = Math.sin(Math.toRadians(other.getY() - this.point.getY()) / 2);
+        return sinHalfDeltaX * sinHalfDeltaX
+                + sinHalfDeltaY * sinHalfDeltaY * this.cosX * Math.cos(Math.toRadians(other.getX()));
+    }
+
+    /* Equality allows remembered paging anchors to be matched to a later
+     * execution of the same query.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GeoDistanceComparator that = (GeoDistanceComparator) o;
+        return Objects.equals(attributeName, that.attributeName) && Objects.equals(point, that.point)
+                && Objects.equals(metric, that.metric);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(attributeName, point, metric);
+    }
+}
@@ -18,6 +18,7 @@ package org.springframework.data.hazelcast.repository.query;
 import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
 
 import java.util.Map;
+import java.util.Objects;
 
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.Metric;
@@ -38,9 +39,9 @@ import com.hazelcast.query.impl.Extractable;
 public class GeoPredicate<K, V>
         implements Predicate<K, V> {
 
-    private static final double KM_TO_MILES = 0.621371;
-    private static final double KM_TO_NEUTRAL = 0.539957;
-    private static final double R = 6372.8;
+    static final double KM_TO_MILES = 0.621371;
+    static final double KM_TO_NEUTRAL = 0.539957;
+    static final double R = 6372.8;
 
     final String attributeName;
     final Point queryPoint;
@@ -111,8 +112,26 @@ public class GeoPredicate<K, V>
         }
     }
 
-    private Object readAttributeValue(Map.Entry<K, V> entry) {
+    Object readAttributeValue(Map.Entry<K, V> entry) {
         Extractable extractable = (Extractable) entry;
         return extractable.getAttributeValue(this.attributeName);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GeoPredicate<?, ?> that = (GeoPredicate<?, ?>) o;
+        return Objects.equals(attributeName, that.attributeName) && Objects.equals(queryPoint, that.queryPoint)
+                && Objects.equals(distance, that.distance);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(attributeName, queryPoint, distance);
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * <p>
+ * Chain comparators for a multi-field sort. Unlike {@link Comparator#thenComparing}, two chains built from the same
+ * {@link org.springframework.data.domain.Sort Sort} are equal, so remembered paging anchors can be matched to them.
+ * </P>
+ */
+public class HazelcastCompositeComparator
+        implements Comparator<Entry<?, ?>>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Comparator<Entry<?, ?>>> comparators;
+
+    public HazelcastCompositeComparator(List<Comparator<Entry<?, ?>>> comparators) {
+        this.comparators = new ArrayList<>(comparators);
+    }
+
+    @Override
+    public int compare(Entry<?, ?> o1, Entry<?, ?> o2) {
+        for (Comparator<Entry<?, ?>> comparator : this.comparators) {
+            int result = comparator.compare(o1, o2);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return comparators.equals(((HazelcastCompositeComparator) o).comparators);
+    }
+
+    @Override
+    public int hashCode() {
+        return comparators.hashCode();
+    }
+}
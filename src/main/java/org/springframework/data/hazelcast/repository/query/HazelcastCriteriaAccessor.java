@@ -15,11 +15,16 @@
  */
 package org.springframework.data.hazelcast.repository.query;
 
+import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import org.springframework.data.keyvalue.core.CriteriaAccessor;
 import org.springframework.data.keyvalue.core.query.KeyValueQuery;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
 /**
  * <p>
  * Provide a mechanism to convert the abstract query into the direct implementation in Hazelcast.
@@ -32,6 +37,12 @@ public class HazelcastCriteriaAccessor
         implements CriteriaAccessor<Predicate<?, ?>> {
 
     /**
+     * <p>
+     * Convert the criteria without changing the query. A paging predicate in the criteria only carries an ordering,
+     * which {@link HazelcastSortAccessor} applies, so its target is returned here. Its page size is not applied, as
+     * whoever builds the query sets the row count, see {@link HazelcastQueryCreator}.
+     * </P>
+     *
      * @param A query in Spring form
      * @return The same in Hazelcast form
      */
@@ -46,10 +57,19 @@ public class HazelcastCriteriaAccessor
             return null;
         }
 
+        /* Paging and sorting are applied to the target, inside the routing
+         */
+        if (criteria instanceof PartitionPredicate) {
+            PartitionPredicate<?, ?> partitionPredicate = (PartitionPredicate<?, ?>) criteria;
+            return routeTo(partitionPredicate.getPartitionKeys(), unwrapPaging(query, partitionPredicate.getTarget()));
+        }
+
+        return unwrapPaging(query, criteria);
+    }
+
+    private static Predicate<?, ?> unwrapPaging(KeyValueQuery<?> query, Object criteria) {
         if (criteria instanceof PagingPredicateImpl) {
-            PagingPredicateImpl pagingPredicate = (PagingPredicateImpl) criteria;
-            query.limit(pagingPredicate.getPageSize());
-            return pagingPredicate.getPredicate();
+            return ((PagingPredicateImpl<?, ?>) criteria).getPredicate();
         }
 
         if (criteria instanceof Predicate) {
@@ -59,4 +79,23 @@ public class HazelcastCriteriaAccessor
         throw new UnsupportedOperationException(query.toString());
     }
 
+    /**
+     * <p>
+     * Run a predicate only on the partitions owning the given partition keys, rather than on every partition.
+     * </P>
+     *
+     * @param partitionKeys Keys deciding the partitions, not empty
+     * @param target        Predicate to run on those partitions, null means match everything
+     * @return A partition predicate
+     */
+    @SuppressWarnings("unchecked")
+    public static Predicate<?, ?> routeTo(Collection<?> partitionKeys, Predicate<?, ?> target) {
+        Predicate<Object, Object> predicate = (target == null ? Predicates.alwaysTrue()
+                : (Predicate<Object, Object>) target);
+        if (partitionKeys.size() == 1) {
+            return Predicates.partitionPredicate(partitionKeys.iterator().next(), predicate);
+        }
+        return Predicates.multiPartitionPredicate(new LinkedHashSet<>(partitionKeys), predicate);
+    }
+
 }
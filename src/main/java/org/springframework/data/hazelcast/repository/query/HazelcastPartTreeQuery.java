@@ -15,40 +15,60 @@
  */
 package org.springframework.data.hazelcast.repository.query;
 
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.hazelcast.HazelcastKeyValueAdapter;
+import org.springframework.data.hazelcast.HazelcastQueryEngine;
+import org.springframework.data.hazelcast.QueryResultCache;
+import org.springframework.data.hazelcast.repository.support.HazelcastQueryMethod;
 import org.springframework.data.keyvalue.core.IterableConverter;
 import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.keyvalue.core.mapping.KeyValuePersistentEntity;
 import org.springframework.data.keyvalue.core.query.KeyValueQuery;
 import org.springframework.data.keyvalue.repository.query.KeyValuePartTreeQuery;
 import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.data.util.StreamUtils;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>
  * There is one instance for each query method defined for a repository, providing a query from the bind parameters.
  * </P>
  * <p>
- * TODO The {@link #execute} method calls the {@link #prepareQuery} to bind the parameters to the query. This results in
- * Hazelcast's {@link com.hazelcast.query.PredicateBuilder PredicateBuilder} being called for each query execution. A
- * more efficient mechanism would be to some sort of templating that would allow the parameters to be instantiated into
- * the output of the predicate builder rather than the input.
+ * The method name is parsed once, when the instance is created, into a {@link PartTree} along with the query type, the
+ * parameter order and the partition key and geo index annotations on the queried properties. Each {@link #execute}
+ * then only binds the parameter values, as Hazelcast predicates are immutable value objects and so are built per call
+ * by {@link HazelcastQueryCreator} from the cached tree.
+ * </P>
+ * <p>
+ * Results are passed through the method's {@link ResultProcessor} for projections. Where the projection is a
+ * {@link HazelcastProjection} and the results are an unsorted, unlimited list, the members project the matches so
+ * only the projected attributes are sent.
  * </P>
  *
  * @author Neil Stevenson
@@ -60,12 +80,21 @@ public class HazelcastPartTreeQuery
     private final QueryMethod queryMethod;
     private final KeyValueOperations keyValueOperations;
 
-    private boolean isCount;
-    private boolean isDelete;
-    private boolean isDistinct;
-    private boolean isExists;
+    private final Class<? extends AbstractQueryCreator<?, ?>> queryCreator;
+    private final PartTree tree;
+    private final PartTreeAnnotations annotations;
+
+    private final boolean isCount;
+    private final boolean isDelete;
+    private final boolean isDistinct;
+    private final boolean isExists;
+    private final boolean isGeoResults;
+
+    private final CachedTotals cachedTotals;
+    private final HazelcastProjection projection;
+    private final CachedResult cachedResult;
+    private volatile QueryResultCache resultCache;
 
-    private boolean isRearrangeKnown;
     private boolean isRearrangeRequired;
     private int[] rearrangeIndex;
 
@@ -77,7 +106,7 @@ public class HazelcastPartTreeQuery
      * @param queryMethod                Method defined in {@code HazelcastRepository}
      * @param evaluationContextProvider  Not used
      * @param keyValueOperations         Interface to Hazelcast
-     * @param queryCreator               Not used
+     * @param queryCreator               Used directly if {@link HazelcastQueryCreator}, otherwise via {@code super}
      */
     public HazelcastPartTreeQuery(QueryMethod queryMethod, QueryMethodEvaluationContextProvider evaluationContextProvider,
                                   KeyValueOperations keyValueOperations,
@@ -85,8 +114,26 @@ public class HazelcastPartTreeQuery
         super(queryMethod, evaluationContextProvider, keyValueOperations, queryCreator);
         this.queryMethod = queryMethod;
         this.keyValueOperations = keyValueOperations;
-
-        this.isRearrangeKnown = false;
+        this.queryCreator = queryCreator;
+
+        this.tree = new PartTree(queryMethod.getName(), queryMethod.getEntityInformation().getJavaType());
+        this.annotations = PartTreeAnnotations.of(this.tree);
+        this.isCount = this.tree.isCountProjection();
+        this.isDelete = this.tree.isDelete();
+        this.isDistinct = this.tree.isDistinct();
+        this.isExists = this.tree.isExistsProjection();
+        this.isGeoResults = (queryMethod instanceof HazelcastQueryMethod
+                && ((HazelcastQueryMethod) queryMethod).isGeoResultsQuery());
+
+        this.prepareRearrange(this.tree, queryMethod.getParameters().getBindableParameters());
+
+        CachedTotal cachedTotal = (queryMethod instanceof HazelcastQueryMethod
+                ? ((HazelcastQueryMethod) queryMethod).getMethodAnnotation(CachedTotal.class) : null);
+        this.cachedTotals = (cachedTotal != null ? new CachedTotals(cachedTotal) : null);
+        this.projection = HazelcastProjection.of(queryMethod);
+        boolean cacheable = !this.isDelete && !queryMethod.isStreamQuery();
+        this.cachedResult = (queryMethod instanceof HazelcastQueryMethod && cacheable
+                ? ((HazelcastQueryMethod) queryMethod).getMethodAnnotation(CachedResult.class) : null);
     }
 
     /**
@@ -98,18 +145,25 @@ public class HazelcastPartTreeQuery
      * </P>
      *
      * @param parameters Any parameters
-     * @return Query result
+     * @return Query result, reused for the same parameters if the method is {@link CachedResult @CachedResult}
      */
     @Override
     public Object execute(Object[] parameters) {
+        final QueryResultCache resultCache = this.getResultCache();
+        if (resultCache != null) {
+            return resultCache.get(parameters, () -> this.executeUncached(parameters));
+        }
+        return this.executeUncached(parameters);
+    }
+
+    private Object executeUncached(Object[] parameters) {
 
         KeyValueQuery<?> query = prepareQuery(parameters);
 
         if (this.isCount) {
             final Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
             if (this.isDistinct) {
-                final Iterable<?> iterable = this.keyValueOperations.find(query, javaType);
-                return  StreamUtils.createStreamFromIterator(iterable.iterator()).distinct().count();
+                return this.executeCountDistinctQuery(query, javaType);
             } else {
                 return this.keyValueOperations.count(query, javaType);
             }
@@ -126,29 +180,116 @@ public class HazelcastPartTreeQuery
             return result.iterator().hasNext();
         }
 
+        if (this.isGeoResults) {
+            return this.executeGeoResultsQuery(query, queryMethod);
+        }
+
+        final ResultProcessor processor = queryMethod.getResultProcessor().withDynamicProjection(
+                new ParametersParameterAccessor(queryMethod.getParameters(), parameters));
+
         if (queryMethod.isPageQuery() || queryMethod.isSliceQuery()) {
-            return this.executePageSliceQuery(parameters, query, queryMethod);
+            return processor.processResult(this.executePageSliceQuery(parameters, query, queryMethod));
         }
 
         if (queryMethod.isCollectionQuery() || queryMethod.isQueryForEntity() || queryMethod.isStreamQuery()) {
-            return this.executeFindQuery(query, queryMethod, this.isDistinct);
+            return processor.processResult(this.executeFindQuery(query, queryMethod, this.isDistinct));
         }
 
         String message = String.format("Query method '%s' not supported.", queryMethod.getName());
         throw new UnsupportedOperationException(message);
     }
 
+    /**
+     * <p>
+     * The adapter's result cache for this method, if {@link CachedResult @CachedResult} and the adapter is Hazelcast.
+     * </P>
+     *
+     * @return The cache, or {@code null} to always run the query
+     */
+    private QueryResultCache getResultCache() {
+        if (this.cachedResult == null || this.resultCache != null) {
+            return this.resultCache;
+        }
+        final String name = ((HazelcastQueryMethod) this.queryMethod).getQualifiedName();
+        final String keySpace = this.getKeySpace(this.queryMethod.getEntityInformation().getJavaType());
+        final int maxEntries = this.cachedResult.maxEntries();
+        this.resultCache = this.keyValueOperations.execute(adapter -> adapter instanceof HazelcastKeyValueAdapter
+                ? ((HazelcastKeyValueAdapter) adapter).getQueryResultCache(name, keySpace, maxEntries) : null);
+        return this.resultCache;
+    }
+
+    /**
+     * <p>
+     * Count distinct matches using a distributed aggregation where the adapter is Hazelcast. Each member removes its
+     * own duplicates, so an entity stored under several keys is sent once per member rather than once per key.
+     * </P>
+     *
+     * @param query    The query to run
+     * @param javaType Domain class of the entities to count
+     * @return Number of distinct matches
+     */
+    private long executeCountDistinctQuery(final KeyValueQuery<?> query, final Class<?> javaType) {
+        final String keySpace = this.getKeySpace(javaType);
+
+        if (this.isHazelcastAdapter()) {
+            return this.executeOnQueryEngine(engine -> engine.countDistinct(query, javaType, keySpace));
+        }
+
+        final Iterable<?> iterable = this.keyValueOperations.find(query, javaType);
+        return StreamUtils.createStreamFromIterator(iterable.iterator()).distinct().count();
+    }
+
+    private String getKeySpace(final Class<?> javaType) {
+        return ((KeyValuePersistentEntity<?, ?>) this.keyValueOperations.getMappingContext()
+                                                                         .getRequiredPersistentEntity(javaType))
+                .getKeySpace();
+    }
+
     /**
      * Execute a "delete" query, not really a query more of an operation.
      * <p>
+     * Where the adapter is Hazelcast the matching entries are removed on the cluster in one operation, returning only
+     * what the method needs. A limit or a sort selects which entries to delete, so these fall back to finding the
+     * matches and deleting them one by one.
+     * </P>
+     * <p>
+     * Removing on the cluster bypasses {@code KeyValueTemplate.delete}, so no {@code BeforeDeleteEvent} or
+     * {@code AfterDeleteEvent} is published for those entries. As the template would, only entries of the repository's
+     * type or a subtype are removed, even if other types share the keyspace.
+     * </P>
      *
      * @param query       The query to run
      * @param queryMethod Used here to find the type of object to match the query
      * @return Collection of deleted objects or the number of deleted objects
      */
     private Object executeDeleteQuery(final KeyValueQuery<?> query, final QueryMethod queryMethod) {
+        final Class<?> returnedType = queryMethod.getReturnedObjectType();
+        final boolean returnsCount = long.class.equals(returnedType) || Long.class.equals(returnedType);
+        final boolean returnsNothing = void.class.equals(returnedType) || Void.class.equals(returnedType);
 
-        Iterable<?> resultSet = this.keyValueOperations.find(query, queryMethod.getEntityInformation().getJavaType());
+        if (!queryMethod.isCollectionQuery() && !returnsCount && !returnsNothing) {
+            throw new UnsupportedOperationException(String.format(
+                    "Illegal returned type: %s. The operation 'deleteBy' accepts only 'long' and 'Collection' as the returned "
+                            + "object type", returnedType));
+        }
+
+        final Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+
+        if (!this.tree.isLimiting() && query.getRows() <= 0 && query.getSort().isUnsorted() && this.isHazelcastAdapter()) {
+            final String keySpace = this.getKeySpace(javaType);
+            if (queryMethod.isCollectionQuery()) {
+                return new ArrayList<>(this.executeOnQueryEngine(engine -> engine.deleteAndReturn(query, javaType, keySpace)));
+            }
+            if (returnsCount) {
+                return this.executeOnQueryEngine(engine -> engine.deleteAndCount(query, javaType, keySpace));
+            }
+            return this.executeOnQueryEngine(engine -> {
+                engine.delete(query, javaType, keySpace);
+                return null;
+            });
+        }
+
+        Iterable<?> resultSet = this.keyValueOperations.find(query, javaType);
         Iterator<?> iterator = resultSet.iterator();
 
         List<Object> result = new ArrayList<>();
@@ -158,14 +299,36 @@ public class HazelcastPartTreeQuery
 
         if (queryMethod.isCollectionQuery()) {
             return result;
-        } else if (long.class.equals(queryMethod.getReturnedObjectType()) || Long.class
-                .equals(queryMethod.getReturnedObjectType())) {
-            return result.size();
-        } else {
-            throw new UnsupportedOperationException(String.format(
-                    "Illegal returned type: %s. The operation 'deleteBy' accepts only 'long' and 'Collection' as the returned "
-                            + "object type", queryMethod.getReturnedObjectType()));
+        } else if (returnsCount) {
+            return (long) result.size();
         }
+        return null;
+    }
+
+    /**
+     * <p>
+     * Whether the operations are backed by a {@link HazelcastKeyValueAdapter}, so Hazelcast specific operations on its
+     * query engine can be used instead of the generic key-value ones.
+     * </P>
+     *
+     * @return True if {@link #executeOnQueryEngine} can be used
+     */
+    private boolean isHazelcastAdapter() {
+        return Boolean.TRUE.equals(this.keyValueOperations.execute(adapter -> adapter instanceof HazelcastKeyValueAdapter));
+    }
+
+    /**
+     * <p>
+     * Run an operation on the Hazelcast query engine, within the operations' exception translation.
+     * </P>
+     *
+     * @param action Operation to run
+     * @param <T>    Result type
+     * @return Result of the operation
+     */
+    private <T> T executeOnQueryEngine(final Function<HazelcastQueryEngine, T> action) {
+        return this.keyValueOperations.execute(
+                adapter -> action.apply(((HazelcastKeyValueAdapter) adapter).getQueryEngine()));
     }
 
     /**
@@ -173,6 +336,10 @@ public class HazelcastPartTreeQuery
      * Execute a retrieval query. The query engine will return this in an iterator, which may need conversion to a single
      * domain entity or a stream.
      * </P>
+     * <p>
+     * Streams are fetched from Hazelcast in batches as they are consumed, rather than the whole result being fetched
+     * first, and fetching stops when the stream is short-circuited or abandoned.
+     * </P>
      *
      * @param query       The query to run
      * @param queryMethod Holds metadata about the query, is paging etc
@@ -180,6 +347,21 @@ public class HazelcastPartTreeQuery
      */
     private Object executeFindQuery(final KeyValueQuery<?> query, final QueryMethod queryMethod, final boolean distinct) {
 
+        if (queryMethod.isStreamQuery() && this.isHazelcastAdapter()) {
+            final Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+            final String keySpace = this.getKeySpace(javaType);
+            final Stream<?> stream = this.executeOnQueryEngine(engine -> engine.stream(query, javaType, keySpace));
+            return distinct ? stream.distinct() : stream;
+        }
+
+        if (queryMethod.isCollectionQuery() && this.isProjectable(query, distinct)) {
+            final Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+            final String keySpace = this.getKeySpace(javaType);
+            final Predicate<?, ?> criteria = (Predicate<?, ?>) query.getCriteria();
+            return this.projection.toSources(
+                    this.executeOnQueryEngine(engine -> engine.project(criteria, this.projection, javaType, keySpace)));
+        }
+
         Iterable<?> resultSet = this.keyValueOperations.find(query, queryMethod.getEntityInformation().getJavaType());
 
         if (!queryMethod.isCollectionQuery() && !queryMethod.isPageQuery() && !queryMethod.isSliceQuery() && !queryMethod
@@ -202,6 +384,52 @@ public class HazelcastPartTreeQuery
         return resultSet;
     }
 
+    /**
+     * <p>
+     * Execute a {@code Near} or {@code Within} query returning {@link GeoResults}, each match with its distance from
+     * the query point, nearest first.
+     * </P>
+     *
+     * @param query       The query to run, ordered by distance
+     * @param queryMethod Holds metadata about the query
+     * @return Matches and their distances
+     */
+    private GeoResults<Object> executeGeoResultsQuery(final KeyValueQuery<?> query, final QueryMethod queryMethod) {
+        final Object criteria = query.getCriteria();
+        final Object comparator = (criteria instanceof PagingPredicateImpl
+                ? ((PagingPredicateImpl<?, ?>) criteria).getComparator() : null);
+        if (!(comparator instanceof GeoDistanceComparator)) {
+            throw new UnsupportedOperationException(String.format(
+                    "Query method '%s' returns GeoResults but has no Near or Within condition.", queryMethod.getName()));
+        }
+        final GeoDistanceComparator geoDistanceComparator = (GeoDistanceComparator) comparator;
+
+        final List<GeoResult<Object>> results = new ArrayList<>();
+        for (Object match : this.keyValueOperations.find(query, queryMethod.getEntityInformation().getJavaType())) {
+            results.add(new GeoResult<>(match, geoDistanceComparator.distance(match)));
+        }
+        return new GeoResults<>(results, geoDistanceComparator.getMetric());
+    }
+
+    /**
+     * <p>
+     * Whether the members can project the matches of this query. Hazelcast cannot page a projection, so the query must
+     * be unsorted and unlimited, including by its own ordering or a limit in the method name, and duplicates are only
+     * removed from whole entities.
+     * </P>
+     *
+     * @param query    The query to run
+     * @param distinct If duplicates are to be removed
+     * @return True if {@link HazelcastQueryEngine#project} can be used
+     */
+    private boolean isProjectable(final KeyValueQuery<?> query, final boolean distinct) {
+        final Object criteria = query.getCriteria();
+        return this.projection != null && !distinct && query.getRows() <= 0 && query.getOffset() <= 0
+                && query.getSort().isUnsorted() && (criteria == null
+                || (criteria instanceof Predicate && !(criteria instanceof PagingPredicate)))
+                && this.isHazelcastAdapter();
+    }
+
     /**
      * <p>
      * Slices and pages are similar ways to iterate through the result set in blocks, mimicking a cursor. A
@@ -217,36 +445,65 @@ public class HazelcastPartTreeQuery
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     private Object executePageSliceQuery(final Object[] parameters, final KeyValueQuery<?> query, final QueryMethod queryMethod) {
-        long totalElements = -1;
+        final Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
 
         int indexOfPageRequest = queryMethod.getParameters().getPageableIndex();
         Pageable pageRequest = (Pageable) parameters[indexOfPageRequest];
 
-        /* TODO Eliminate count call for Slice, retrieve "rows+1" instead to determine if next page exists.
-         */
-        if (query.getCriteria() == null) {
-            totalElements = this.keyValueOperations.count(queryMethod.getEntityInformation().getJavaType());
-        } else {
-            totalElements = this.keyValueOperations.count(query, queryMethod.getEntityInformation().getJavaType());
+        if (pageRequest.isUnpaged()) {
+            List<?> content = IterableConverter.toList(this.keyValueOperations.find(query, javaType));
+            return queryMethod.isPageQuery() ? new PageImpl(content) : new SliceImpl(content);
         }
 
         int requiredRows = pageRequest.getPageSize();
-
         query.setOffset(pageRequest.getOffset());
-        query.setRows(pageRequest.getPageSize());
 
-        Iterable<?> resultSet = this.keyValueOperations.find(query, queryMethod.getEntityInformation().getJavaType());
-        List<?> content = IterableConverter.toList(resultSet);
-
-        if (queryMethod.isPageQuery()) {
-            return new PageImpl(content, pageRequest, totalElements);
-        } else {
-            boolean hasNext = totalElements > (query.getOffset() + query.getRows());
-            if (content.size() > requiredRows) {
+        /* A slice only needs to know if there is more data, so fetch one extra
+         * row rather than counting every match.
+         */
+        if (queryMethod.isSliceQuery()) {
+            List<?> content = this.executeSlice(query, requiredRows, javaType);
+            boolean hasNext = content.size() > requiredRows;
+            if (hasNext) {
                 content = content.subList(0, requiredRows);
             }
             return new SliceImpl(content, pageRequest, hasNext);
         }
+
+        query.setRows(requiredRows);
+        List<?> content = IterableConverter.toList(this.keyValueOperations.find(query, javaType));
+
+        /* The count is only run if the content does not show the total, such as
+         * a full page or a page beyond the end of the data.
+         */
+        return PageableExecutionUtils.getPage(content, pageRequest, () -> this.countTotal(query, javaType));
+    }
+
+    /* The slice's rows and the first row after them, fetched by the query
+     * engine in one query.
+     */
+    private List<?> executeSlice(final KeyValueQuery<?> query, final int requiredRows, final Class<?> javaType) {
+        query.setRows(requiredRows);
+        if (this.isHazelcastAdapter()) {
+            final String keySpace = this.getKeySpace(javaType);
+            return this.executeOnQueryEngine(engine -> engine.executeSlice(query, javaType, keySpace));
+        }
+        query.setRows(requiredRows + 1);
+        return IterableConverter.toList(this.keyValueOperations.find(query, javaType));
+    }
+
+    private long countTotal(final KeyValueQuery<?> query, final Class<?> javaType) {
+        if (this.cachedTotals != null) {
+            return this.cachedTotals.get(query.getCriteria(), () -> this.count(query, javaType));
+        }
+        return this.count(query, javaType);
+    }
+
+    private long count(final KeyValueQuery<?> query, final Class<?> javaType) {
+        if (query.getCriteria() == null) {
+            return this.keyValueOperations.count(javaType);
+        }
+        return this.keyValueOperations.count(query, javaType);
     }
 
     /**
@@ -258,40 +515,53 @@ public class HazelcastPartTreeQuery
      * @return A ready-to-use query
      */
     protected KeyValueQuery<?> prepareQuery(Object[] parameters) {
-        PartTree tree = null;
-
-        if (this.queryMethod.getParameters().getNumberOfParameters() > 0) {
-            tree = new PartTree(getQueryMethod().getName(), getQueryMethod().getEntityInformation().getJavaType());
-            this.isCount = tree.isCountProjection();
-            this.isDelete = tree.isDelete();
-            this.isDistinct = tree.isDistinct();
-            this.isExists = tree.isExistsProjection();
-        } else {
-            this.isCount = false;
-            this.isDelete = false;
-            this.isDistinct = false;
-            this.isExists = false;
-        }
-
-        ParametersParameterAccessor accessor = this.prepareAccessor(parameters, tree);
+        ParametersParameterAccessor accessor = this.prepareAccessor(parameters);
 
         KeyValueQuery<?> query = createQuery(accessor);
 
+        /* A limit from the method name, such as "findTop3By", and a page size
+         * both bound the rows, so the smaller wins.
+         */
+        int limit = query.getRows();
         if (accessor.getPageable() != Pageable.unpaged()) {
+            int pageSize = accessor.getPageable().getPageSize();
             query.setOffset(accessor.getPageable().getOffset());
-            query.setRows(accessor.getPageable().getPageSize());
+            query.setRows(limit > 0 ? Math.min(limit, pageSize) : pageSize);
         } else {
             query.setOffset(-1);
-            query.setRows(-1);
+            query.setRows(limit > 0 ? limit : -1);
         }
 
         if (accessor.getSort() != Sort.unsorted()) {
+            HazelcastSortAccessor.checkSort(accessor.getSort(), this.queryMethod.getEntityInformation().getJavaType());
             query.setSort(accessor.getSort());
         }
 
         return query;
     }
 
+    /**
+     * <p>
+     * Build the query from the cached {@link PartTree}, rather than have {@code super} parse the method name again on
+     * every call. Other query creators are still delegated to {@code super}.
+     * </P>
+     *
+     * @param accessor Bound parameters
+     * @return Query before paging and sorting are applied
+     */
+    @Override
+    protected KeyValueQuery<?> createQuery(ParameterAccessor accessor) {
+        if (!HazelcastQueryCreator.class.equals(this.queryCreator)) {
+            return super.createQuery(accessor);
+        }
+
+        KeyValueQuery<?> query = new HazelcastQueryCreator(this.tree, accessor, this.annotations).createQuery();
+        if (this.tree.isLimiting()) {
+            query.setRows(this.tree.getMaxResults());
+        }
+        return query;
+    }
+
     /**
      * <p>
      * Handle {@code @Param}.
@@ -323,15 +593,9 @@ public class HazelcastPartTreeQuery
      * </OL>
      *
      * @param originalParameters Possibly empty
-     * @param partTree           Query tree to traverse
      * @return Parameters in correct order
      */
-    private ParametersParameterAccessor prepareAccessor(final Object[] originalParameters, final PartTree partTree) {
-
-        if (!this.isRearrangeKnown) {
-            this.prepareRearrange(partTree, this.queryMethod.getParameters().getBindableParameters());
-            this.isRearrangeKnown = true;
-        }
+    private ParametersParameterAccessor prepareAccessor(final Object[] originalParameters) {
 
         Object[] parameters = originalParameters;
         Assert.notNull(parameters, "Parameters must not be null.");
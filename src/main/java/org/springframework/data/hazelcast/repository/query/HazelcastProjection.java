@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.Projections;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.model.PreferredConstructorDiscoverer;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A projection that members can apply before returning query results, so only the attributes a query method returns
+ * are serialized and sent rather than whole entities.
+ * </P>
+ * <p>
+ * Closed interface projections qualify, as the properties they read are known up front. Each result is returned as a
+ * {@code Map} of property name to value, which Spring Data's projection factory backs the interface with. Open
+ * projections, which may evaluate expressions against the whole entity, do not qualify.
+ * </P>
+ * <p>
+ * DTO projections qualify when each parameter of their persistence constructor names a field of the entity. The
+ * attributes are fetched in constructor parameter order and the DTO is created from them directly.
+ * </P>
+ */
+public final class HazelcastProjection {
+
+    private final String[] attributes;
+    private final String[][] paths;
+    private final Constructor<?> dtoConstructor;
+
+    private HazelcastProjection(List<String> attributes, Constructor<?> dtoConstructor) {
+        this.attributes = attributes.toArray(new String[0]);
+        this.paths = new String[this.attributes.length][];
+        for (int i = 0; i < this.attributes.length; i++) {
+            this.paths[i] = AttributeReader.path(this.attributes[i]);
+        }
+        this.dtoConstructor = dtoConstructor;
+    }
+
+    /**
+     * @param queryMethod A repository query method
+     * @return The projection for the method's return type, or {@code null} if the cluster cannot apply it
+     */
+    public static HazelcastProjection of(QueryMethod queryMethod) {
+        ReturnedType returnedType = queryMethod.getResultProcessor().getReturnedType();
+        if (!returnedType.isProjecting() || queryMethod.getParameters().hasDynamicProjection()) {
+            return null;
+        }
+
+        List<String> properties = returnedType.getInputProperties();
+        if (properties.isEmpty()) {
+            return null;
+        }
+        if (returnedType.getReturnedType().isInterface()) {
+            return new HazelcastProjection(properties, null);
+        }
+
+        Class<?> domainType = returnedType.getDomainType();
+        for (String property : properties) {
+            if (ReflectionUtils.findField(domainType, property) == null) {
+                return null;
+            }
+        }
+        PreferredConstructor<?, ?> constructor = PreferredConstructorDiscoverer.discover(returnedType.getReturnedType());
+        if (constructor == null || constructor.getConstructor().getParameterCount() != properties.size()) {
+            return null;
+        }
+        return new HazelcastProjection(properties, constructor.getConstructor());
+    }
+
+    public Projection<Map.Entry<Object, Object>, Object[]> toProjection() {
+        return Projections.multiAttribute(this.attributes);
+    }
+
+    /**
+     * <p>
+     * Apply the projection here rather than on the members, for entities that are already local such as those in a
+     * Continuous Query Cache.
+     * </P>
+     *
+     * @param entity A matching entity
+     * @return Its attribute values, in the order of the projection's properties
+     */
+    public Object[] project(Object entity) {
+        Object[] row = new Object[this.attributes.length];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = AttributeReader.read(entity, this.paths[i], this.attributes[i]);
+        }
+        return row;
+    }
+
+    /**
+     * @param rows Projected attribute values, in the order of the projection's properties
+     * @return A source for each row, for the projection factory to present as the projection type, or the DTO itself
+     */
+    public List<Object> toSources(Collection<Object[]> rows) {
+        List<Object> sources = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (this.dtoConstructor != null) {
+                sources.add(BeanUtils.instantiateClass(this.dtoConstructor, row));
+                continue;
+            }
+            Map<String, Object> source = new LinkedHashMap<>();
+            for (int i = 0; i < this.attributes.length; i++) {
+                source.put(this.attributes[i], row[i]);
+            }
+            sources.add(source);
+        }
+        return sources;
+    }
+}
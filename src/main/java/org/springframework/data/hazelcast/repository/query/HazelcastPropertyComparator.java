@@ -15,20 +15,21 @@
  */
 package org.springframework.data.hazelcast.repository.query;
 
-import com.hazelcast.query.impl.getters.ReflectionHelper;
-
 import java.io.Serializable;
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
 import java.util.Comparator;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 /**
  * <p>
  * Implement a limited form of custom comparison between entries. The fields used for the comparison and the
  * ascending/descending can be specified at run time.
  * </P>
+ * <p>
+ * Fields may be nested, such as {@code address.city}. Strings may be compared ignoring case, and nulls may be placed
+ * first or last regardless of direction. By default nulls sort as greater than any value, so come last when ascending
+ * and first when descending.
+ * </P>
  *
  * @author Neil Stevenson
  */
@@ -36,39 +37,35 @@ public class HazelcastPropertyComparator
         implements Comparator<Entry<?, ?>>, Serializable {
     private static final long serialVersionUID = 1L;
 
-    private static final MethodHandle EXTRACT_VALUE_HAZELCAST_41 = resolveExtractValueHazelcast41();
-    private static final MethodHandle EXTRACT_VALUE_HAZELCAST_403 = resolveExtractValueHazelcast403();
-
-
-    private static MethodHandle resolveExtractValueHazelcast41() {
-        try {
-            return MethodHandles.lookup().findStatic(ReflectionHelper.class,
-              "extractValue", MethodType.methodType(Object.class, Object.class, String.class, boolean.class));
-        } catch (Throwable ex) {
-            return null;
-        }
-    }
-
-    private static MethodHandle resolveExtractValueHazelcast403() {
-        try {
-            return MethodHandles.lookup().findStatic(ReflectionHelper.class,
-                "extractValue", MethodType.methodType(Object.class, Object.class, String.class));
-        } catch (Throwable ex) {
-            return null;
-        }
-    }
-
     private final String attributeName;
     private final int direction;
+    private final boolean ignoreCase;
+    private final int nullOrder;
+    private transient String[] path;
 
     public HazelcastPropertyComparator(String attributeName, boolean ascending) {
+        this(attributeName, ascending, false, null);
+    }
+
+    /**
+     * @param attributeName Field to compare, possibly a path such as {@code address.city}
+     * @param ascending     Sort direction
+     * @param ignoreCase    Compare strings ignoring case
+     * @param nullsFirst    True for nulls first, false for nulls last, null for nulls as greater than any value
+     */
+    public HazelcastPropertyComparator(String attributeName, boolean ascending, boolean ignoreCase, Boolean nullsFirst) {
         this.attributeName = attributeName;
         this.direction = (ascending ? 1 : -1);
+        this.ignoreCase = ignoreCase;
+        this.nullOrder = (nullsFirst == null ? 0 : (nullsFirst ? -1 : 1));
     }
 
     /**
      * <p>
-     * Use Hazelcast's {@code ReflectionHelper} to extract a field in an entry, and use this is in the comparison.
+     * Read the field of each entry's value with an {@link AttributeReader}, which resolves the getter or field once
+     * per class, and use this in the comparison. Values that are not {@link Comparable} compare as equal, but a field
+     * that cannot be read fails the query rather than leaving it unsorted. Sort properties from query method arguments
+     * are checked on the client by {@link HazelcastSortAccessor#checkSort}.
      * </P>
      *
      * @param o1 An entry in a map
@@ -78,44 +75,58 @@ public class HazelcastPropertyComparator
     @SuppressWarnings({"rawtypes", "unchecked"})
     public int compare(Entry<?, ?> o1, Entry<?, ?> o2) {
 
-        try {
-
-            Object o1Field;
-            Object o2Field;
+        String[] path = this.path();
+        Object o1Field = AttributeReader.read(o1.getValue(), path, this.attributeName);
+        Object o2Field = AttributeReader.read(o2.getValue(), path, this.attributeName);
 
-            if (EXTRACT_VALUE_HAZELCAST_41 == null && EXTRACT_VALUE_HAZELCAST_403 == null) {
-                throw new IllegalStateException("Could not resolve a ReflectionHelper.extractValue method. Using a non-supported Hazelcast version");
-            }
+        if (o1Field == o2Field) {
+            return 0;
+        }
+        if (o1Field == null) {
+            return this.nullOrder != 0 ? this.nullOrder : this.direction;
+        }
+        if (o2Field == null) {
+            return this.nullOrder != 0 ? -this.nullOrder : -1 * this.direction;
+        }
+        if (this.ignoreCase && o1Field instanceof String && o2Field instanceof String) {
+            return this.direction * String.CASE_INSENSITIVE_ORDER.compare((String) o1Field, (String) o2Field);
+        }
+        if (o1Field instanceof Comparable && o2Field instanceof Comparable) {
+            return this.direction * ((Comparable) o1Field).compareTo(o2Field);
+        }
 
-            try {
-                if (EXTRACT_VALUE_HAZELCAST_403 != null) {
-                    o1Field = EXTRACT_VALUE_HAZELCAST_403.invoke(o1.getValue(), this.attributeName);
-                    o2Field = EXTRACT_VALUE_HAZELCAST_403.invoke(o2.getValue(), this.attributeName);
-                } else {
-                    o1Field = EXTRACT_VALUE_HAZELCAST_41.invoke(o1.getValue(), this.attributeName, true);
-                    o2Field = EXTRACT_VALUE_HAZELCAST_41.invoke(o2.getValue(), this.attributeName, true);
-                }
-            } catch (Throwable throwable) {
-                throw new IllegalStateException("Could not resolve a ReflectionHelper.extractValue method. Using a non-supported Hazelcast version", throwable);
-            }
+        return 0;
+    }
 
-            if (o1Field == o2Field) {
-                return 0;
-            }
-            if (o1Field == null) {
-                return this.direction;
-            }
-            if (o2Field == null) {
-                return -1 * this.direction;
-            }
-            if (o1Field instanceof Comparable && o2Field instanceof Comparable) {
-                return this.direction * ((Comparable) o1Field).compareTo(o2Field);
-            }
+    /* Split on first use, as the field is not serialized.
+     */
+    private String[] path() {
+        String[] path = this.path;
+        if (path == null) {
+            path = AttributeReader.path(this.attributeName);
+            this.path = path;
+        }
+        return path;
+    }
 
-        } catch (Exception ex) {
-            return 0;
+    /* Equality allows remembered paging anchors to be matched to a later
+     * execution of the same sorted query.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
         }
+        HazelcastPropertyComparator that = (HazelcastPropertyComparator) o;
+        return direction == that.direction && ignoreCase == that.ignoreCase && nullOrder == that.nullOrder
+                && Objects.equals(attributeName, that.attributeName);
+    }
 
-        return 0;
+    @Override
+    public int hashCode() {
+        return Objects.hash(attributeName, direction, ignoreCase, nullOrder);
     }
 }
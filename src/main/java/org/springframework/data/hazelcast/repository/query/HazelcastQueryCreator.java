@@ -33,8 +33,13 @@ import org.springframework.data.repository.query.parser.Part.Type;
 import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.springframework.data.repository.query.parser.Part.Type.NOT_CONTAINING;
 import static org.springframework.data.repository.query.parser.Part.Type.NOT_LIKE;
@@ -47,6 +52,12 @@ import static org.springframework.data.repository.query.parser.Part.Type.NOT_LIK
 public class HazelcastQueryCreator
         extends AbstractQueryCreator<KeyValueQuery<Predicate<?, ?>>, Predicate<?, ?>> {
     private final int limit;
+    private final PartTreeAnnotations annotations;
+    private GeoDistanceComparator geoDistanceComparator;
+    private final Set<Object> partitionKeys = new LinkedHashSet<>();
+    private boolean unpartitioned;
+    private boolean inBranch;
+    private Set<Object> branchPartitionKeys;
 
     /**
      * Creates a new {@link HazelcastQueryCreator} for the given {@link PartTree}.
@@ -55,6 +66,7 @@ public class HazelcastQueryCreator
      */
     public HazelcastQueryCreator(PartTree tree) {
         super(tree);
+        this.annotations = PartTreeAnnotations.of(tree);
 
         final Integer maxResults = tree.getMaxResults();
         if (tree.isLimiting() && maxResults != null && maxResults > 0) {
@@ -73,7 +85,20 @@ public class HazelcastQueryCreator
      * @param parameters can be {@literal null}.
      */
     public HazelcastQueryCreator(PartTree tree, ParameterAccessor parameters) {
+        this(tree, parameters, PartTreeAnnotations.of(tree));
+    }
+
+    /**
+     * Creates a new {@link HazelcastQueryCreator} for a query method whose annotations have already been found, so
+     * creating the query needs no reflection.
+     *
+     * @param tree        must not be {@literal null}.
+     * @param parameters  can be {@literal null}.
+     * @param annotations found for the same tree
+     */
+    HazelcastQueryCreator(PartTree tree, ParameterAccessor parameters, PartTreeAnnotations annotations) {
         super(tree, parameters);
+        this.annotations = annotations;
 
         final Integer maxResults = tree.getMaxResults();
         if (tree.isLimiting() && maxResults != null && maxResults > 0) {
@@ -91,7 +116,12 @@ public class HazelcastQueryCreator
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     protected Predicate<?, ?> create(Part part, Iterator<Object> iterator) {
-        return this.from(part, (Iterator<Comparable<?>>) (Iterator) iterator);
+        this.endBranch();
+        RecordingIterator recorded = new RecordingIterator(iterator);
+        Predicate<?, ?> criteria = this.from(part, (Iterator<Comparable<?>>) (Iterator) recorded);
+        this.inBranch = true;
+        this.branchPartitionKeys = this.partitionKeysOf(part, recorded.values);
+        return criteria;
     }
 
     /*
@@ -102,7 +132,11 @@ public class HazelcastQueryCreator
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     protected Predicate<?, ?> and(Part part, Predicate<?, ?> base, Iterator<Object> iterator) {
-        Predicate<?, ?> criteria = this.from(part, (Iterator<Comparable<?>>) (Iterator) iterator);
+        RecordingIterator recorded = new RecordingIterator(iterator);
+        Predicate<?, ?> criteria = this.from(part, (Iterator<Comparable<?>>) (Iterator) recorded);
+        if (this.branchPartitionKeys == null) {
+            this.branchPartitionKeys = this.partitionKeysOf(part, recorded.values);
+        }
         return Predicates.and(base, criteria);
     }
 
@@ -126,18 +160,70 @@ public class HazelcastQueryCreator
 
         KeyValueQuery<Predicate<?, ?>> keyValueQuery;
 
-        if (this.limit == 0) {
-            keyValueQuery = new KeyValueQuery<>(criteria);
+        /* Geo queries are ordered nearest first, so each partition sorts its
+         * matches by distance and, with a limit, only returns the first rows.
+         * The limit is the query's row count, not the page size of this
+         * ordering only predicate.
+         */
+        if (this.geoDistanceComparator != null) {
+            keyValueQuery = new KeyValueQuery<Predicate<?, ?>>(new PagingPredicateImpl(criteria,
+                    this.geoDistanceComparator, Integer.MAX_VALUE));
         } else {
-            keyValueQuery = new KeyValueQuery<Predicate<?, ?>>(new PagingPredicateImpl(criteria, this.limit));
+            keyValueQuery = new KeyValueQuery<>(criteria);
+        }
+
+        /* Where every Or branch fixes the partition key, only the partitions
+         * owning those keys can hold matches.
+         */
+        this.endBranch();
+        if (!this.unpartitioned && !this.partitionKeys.isEmpty()) {
+            keyValueQuery = new KeyValueQuery<>(HazelcastCriteriaAccessor.routeTo(this.partitionKeys,
+                    keyValueQuery.getCriteria()));
         }
 
         if (sort != null) {
             keyValueQuery.setSort(sort);
         }
+        if (this.limit != 0) {
+            keyValueQuery.setRows(this.limit);
+        }
         return keyValueQuery;
     }
 
+    private void endBranch() {
+        if (this.inBranch) {
+            if (this.branchPartitionKeys == null) {
+                this.unpartitioned = true;
+            } else {
+                this.partitionKeys.addAll(this.branchPartitionKeys);
+            }
+            this.inBranch = false;
+        }
+    }
+
+    /* The values a part fixes the partition key to, or null if it does not.
+     */
+    private Set<Object> partitionKeysOf(Part part, List<Object> values) {
+        PropertyPath path = part.getProperty();
+        if (!this.annotations.isPartitionKey(path) || this.ifIgnoreCase(part) || values.isEmpty()
+                || values.get(0) == null) {
+            return null;
+        }
+
+        Object value = values.get(0);
+        Set<Object> keys = new LinkedHashSet<>();
+        if (part.getType() == Type.SIMPLE_PROPERTY) {
+            keys.add(value);
+        } else if (part.getType() == Type.IN && value instanceof Collection) {
+            keys.addAll((Collection<?>) value);
+        } else if (part.getType() == Type.IN && value instanceof Object[]) {
+            keys.addAll(Arrays.asList((Object[]) value));
+        } else {
+            return null;
+        }
+        return keys.contains(null) ? null : keys;
+    }
+
     /* Map query types to Hazelcast predicates. Use multiple methods to separate into
      * logical groups, easing testing and for possible recursion.
      *
@@ -186,7 +272,7 @@ public class HazelcastQueryCreator
             /* case EXISTS:*/
             case NEAR:
             case WITHIN:
-                return fromGeoVariant(type, property, iterator);
+                return fromGeoVariant(type, part.getProperty(), iterator);
 
             default:
                 throw new InvalidDataAccessApiUsageException(String.format("Unsupported type '%s'", type));
@@ -335,7 +421,7 @@ public class HazelcastQueryCreator
         }
     }
 
-    private Predicate<?, ?> fromGeoVariant(Type type, String property, Iterator<Comparable<?>> iterator) {
+    private Predicate<?, ?> fromGeoVariant(Type type, PropertyPath propertyPath, Iterator<Comparable<?>> iterator) {
         final Object item = iterator.next();
         Point point;
         Distance distance;
@@ -367,10 +453,48 @@ public class HazelcastQueryCreator
         switch (type) {
             case WITHIN:
             case NEAR:
-                return new GeoPredicate<>(property, point, distance);
+                String property = propertyPath.toDotPath();
+                if (this.geoDistanceComparator == null) {
+                    this.geoDistanceComparator = new GeoDistanceComparator(property, point, distance.getMetric());
+                }
+                Predicate<?, ?> geoPredicate = new BoundedGeoPredicate<>(property, point, distance);
+                /* With sorted indexes on the coordinates, Hazelcast finds the entries
+                 * inside the bounding box from the indexes, and only evaluates the distance
+                 * predicate on those rather than on every entry.
+                 */
+                if (this.annotations.isGeoIndexed(propertyPath)) {
+                    return Predicates.and(GeoBoundingBox.of(point, distance).toPredicate(property), geoPredicate);
+                }
+                return geoPredicate;
 
             default:
                 throw new InvalidDataAccessApiUsageException(String.format("Logic error for '%s' in query", type));
         }
     }
+
+    /* Keeps the arguments a part consumes, to find any partition keys among
+     * them. Arguments are not necessarily Comparable, such as the collection
+     * for In, so are passed through as they are.
+     */
+    private static final class RecordingIterator
+            implements Iterator<Object> {
+        private final Iterator<Object> iterator;
+        private final List<Object> values = new ArrayList<>();
+
+        RecordingIterator(Iterator<Object> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            Object value = this.iterator.next();
+            this.values.add(value);
+            return value;
+        }
+    }
 }
@@ -15,13 +15,18 @@
  */
 package org.springframework.data.hazelcast.repository.query;
 
+import com.hazelcast.query.PartitionPredicate;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.NullHandling;
 import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.keyvalue.core.SortAccessor;
 import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.mapping.PropertyPath;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map.Entry;
 
 /**
@@ -32,6 +37,10 @@ import java.util.Map.Entry;
  * Although {@code SpelPropertyComparator} would do most of the work, this is not serializable so cannot work in a
  * cluster. Also, do not wish to assume anything other than Hazelcast classes are available on remote nodes.
  * </P>
+ * <p>
+ * A query built with an ordering of its own, such as nearest first for geo queries, is sorted by that before any
+ * explicit sort.
+ * </P>
  *
  * @author Neil Stevenson
  */
@@ -40,45 +49,81 @@ public class HazelcastSortAccessor
 
     /**
      * <p>
-     * Sort on a sequence of fields, possibly none.
+     * Sort on a sequence of fields, possibly none. Fields may be nested, and each may ignore case and place nulls first
+     * or last, all evaluated by the comparator on the members so sorted and paged queries stay distributed.
      * </P>
      *
      * @param query If not null, will contain one of more {@link Sort.Order} objects.
      * @return A sequence of comparators or {@code null}
      */
+    @SuppressWarnings("unchecked")
     public Comparator<Entry<?, ?>> resolve(KeyValueQuery<?> query) {
 
-        if (query == null || query.getSort() == Sort.unsorted()) {
+        if (query == null) {
             return null;
         }
 
-        Comparator hazelcastPropertyComparator = null;
-
-        for (Order order : query.getSort()) {
+        List<Comparator<Entry<?, ?>>> comparators = new ArrayList<>();
 
-            if (order.getProperty().indexOf('.') > -1) {
-                throw new UnsupportedOperationException("Embedded fields not implemented: " + order);
+        Object criteria = query.getCriteria();
+        if (criteria instanceof PartitionPredicate) {
+            criteria = ((PartitionPredicate<?, ?>) criteria).getTarget();
+        }
+        if (criteria instanceof PagingPredicateImpl) {
+            Comparator<?> comparator = ((PagingPredicateImpl<?, ?>) criteria).getComparator();
+            if (comparator != null) {
+                comparators.add((Comparator<Entry<?, ?>>) comparator);
             }
+        }
 
-            if (order.isIgnoreCase()) {
-                throw new UnsupportedOperationException("Ignore case not implemented: " + order);
-            }
+        if (query.getSort() == Sort.unsorted()) {
+            return comparators.isEmpty() ? null : comparators.get(0);
+        }
 
-            if (NullHandling.NATIVE != order.getNullHandling()) {
-                throw new UnsupportedOperationException("Null handling not implemented: " + order);
-            }
+        for (Order order : query.getSort()) {
+            comparators.add(new HazelcastPropertyComparator(order.getProperty(), order.isAscending(),
+                    order.isIgnoreCase(), nullsFirst(order.getNullHandling())));
+        }
 
-            if (hazelcastPropertyComparator == null) {
-                hazelcastPropertyComparator = new HazelcastPropertyComparator(order.getProperty(),
-                        order.isAscending());
-            } else {
-                hazelcastPropertyComparator = hazelcastPropertyComparator.thenComparing(
-                        new HazelcastPropertyComparator(order.getProperty(),
-                        order.isAscending()));
+        if (comparators.isEmpty()) {
+            return null;
+        }
+        return (comparators.size() == 1 ? comparators.get(0) : new HazelcastCompositeComparator(comparators));
+    }
+
+    /**
+     * <p>
+     * Check on the client that each sort property is a property of the domain class, and that only strings are sorted
+     * ignoring case, as the comparators run on the members would otherwise fail there on every comparison.
+     * </P>
+     *
+     * @param sort       Sort from a query method's arguments
+     * @param domainType Class of the entities sorted
+     * @throws org.springframework.data.mapping.PropertyReferenceException If a property is not found
+     * @throws IllegalArgumentException                                    If a non-string property ignores case
+     */
+    public static void checkSort(Sort sort, Class<?> domainType) {
+        for (Order order : sort) {
+            PropertyPath path = PropertyPath.from(order.getProperty(), domainType);
+            if (order.isIgnoreCase() && path.getLeafProperty().getType() != String.class) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot sort on '%s' ignoring case, as it is not a String", order.getProperty()));
             }
         }
+    }
 
-        return hazelcastPropertyComparator;
+    /* Pass the null handling as a Boolean, so the comparator needs no Spring
+     * classes on the members.
+     */
+    private static Boolean nullsFirst(NullHandling nullHandling) {
+        switch (nullHandling) {
+            case NULLS_FIRST:
+                return Boolean.TRUE;
+            case NULLS_LAST:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
     }
 
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import org.springframework.data.hazelcast.HazelcastKeyValueAdapter;
+import org.springframework.data.hazelcast.UpdateEntryProcessor;
+import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.keyvalue.core.mapping.KeyValuePersistentEntity;
+import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Partial updates declared by method name, {@code update<I>Attributes</I>By<I>Criteria</I>()} to set attributes or
+ * {@code increment<I>Attributes</I>By<I>Criteria</I>()} to add to numeric ones, such as
+ * </P>
+ * <pre>
+ * boolean updateStatusById(String id, String status);
+ * long incrementViewsByCategory(String category, int delta);
+ * </pre>
+ * <p>
+ * Attributes are joined with {@code And}, and criteria are as for {@code findBy} methods. The arguments for the
+ * criteria come first, then one for each attribute. Each match is changed by an {@link UpdateEntryProcessor} on the
+ * member that owns it, and criteria of only the id change just the one entry without a query.
+ * </P>
+ * <p>
+ * The method may return {@code void}, {@code boolean} for whether anything changed, or {@code int} or {@code long}
+ * for the number of entries changed.
+ * </P>
+ * <p>
+ * Attributes and their arguments are checked when the repository is created, and each value again before it is sent,
+ * so a value that does not fit its field is rejected here rather than failing on the members.
+ * </P>
+ */
+public class HazelcastUpdateQuery
+        implements RepositoryQuery {
+
+    private static final Pattern UPDATE_METHOD = Pattern.compile("^(update|increment)(\\p{Lu}.*?)By(\\p{Lu}.*)$");
+
+    private final QueryMethod queryMethod;
+    private final KeyValueOperations keyValueOperations;
+    private final String keySpace;
+    private final PartTree tree;
+    private final PartTreeAnnotations annotations;
+    private final String[] attributes;
+    private final Class<?>[] attributeTypes;
+    private final boolean increment;
+    private final boolean byId;
+    private final int criteriaArguments;
+    private final Class<?> returnType;
+
+    /**
+     * @param queryMethod        A method {@link #isUpdateMethod(String) named} as an update
+     * @param keyValueOperations Interface to Hazelcast
+     */
+    public HazelcastUpdateQuery(QueryMethod queryMethod, KeyValueOperations keyValueOperations) {
+        Matcher matcher = UPDATE_METHOD.matcher(queryMethod.getName());
+        Assert.isTrue(matcher.matches(), () -> String.format("'%s' is not an update method.", queryMethod.getName()));
+
+        Class<?> domainType = queryMethod.getEntityInformation().getJavaType();
+        KeyValuePersistentEntity<?, ?> entity = (KeyValuePersistentEntity<?, ?>) keyValueOperations
+                .getMappingContext().getRequiredPersistentEntity(domainType);
+        this.queryMethod = queryMethod;
+        this.keyValueOperations = keyValueOperations;
+        this.keySpace = entity.getKeySpace();
+        this.increment = "increment".equals(matcher.group(1));
+
+        String[] names = matcher.group(2).split("And(?=\\p{Lu})");
+        this.attributes = new String[names.length];
+        this.attributeTypes = new Class<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            this.attributes[i] = PropertyPath.from(StringUtils.uncapitalize(names[i]), domainType).toDotPath();
+            this.attributeTypes[i] = fieldType(domainType, this.attributes[i], queryMethod.getName());
+        }
+
+        this.tree = new PartTree("findBy" + matcher.group(3), domainType);
+        this.annotations = PartTreeAnnotations.of(this.tree);
+        int arguments = 0;
+        List<Part> parts = new ArrayList<>();
+        for (Part part : this.tree.getParts()) {
+            parts.add(part);
+            Assert.isTrue(part.getType() != Part.Type.NEAR && part.getType() != Part.Type.WITHIN,
+                    () -> String.format("Update method '%s' cannot use geo criteria.", queryMethod.getName()));
+            arguments += part.getNumberOfArguments();
+        }
+        this.criteriaArguments = arguments;
+        Assert.isTrue(queryMethod.getParameters().getBindableParameters().getNumberOfParameters()
+                        == arguments + this.attributes.length,
+                () -> String.format("Update method '%s' needs an argument for each criterion then each attribute.",
+                        queryMethod.getName()));
+
+        for (int i = 0; i < this.attributes.length; i++) {
+            Class<?> fieldType = this.attributeTypes[i];
+            Class<?> argumentType = queryMethod.getParameters().getBindableParameter(arguments + i).getType();
+            String attribute = this.attributes[i];
+            if (this.increment) {
+                Assert.isTrue(UpdateEntryProcessor.isIncrementable(fieldType)
+                                && Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(argumentType)),
+                        () -> String.format("Update method '%s' cannot increment '%s' of type %s by %s.",
+                                queryMethod.getName(), attribute, fieldType.getName(), argumentType.getName()));
+            } else {
+                Assert.isTrue(ClassUtils.isAssignable(fieldType, argumentType)
+                                || ClassUtils.isAssignable(argumentType, fieldType),
+                        () -> String.format("Update method '%s' cannot set '%s' of type %s to %s.",
+                                queryMethod.getName(), attribute, fieldType.getName(), argumentType.getName()));
+            }
+        }
+
+        Part only = (parts.size() == 1 ? parts.get(0) : null);
+        this.byId = (only != null && only.getType() == Part.Type.SIMPLE_PROPERTY && entity.getIdProperty() != null
+                && entity.getIdProperty().getName().equals(only.getProperty().toDotPath()));
+
+        this.returnType = queryMethod.getReturnedObjectType();
+        Assert.isTrue(void.class.equals(this.returnType) || Void.class.equals(this.returnType)
+                        || boolean.class.equals(this.returnType) || Boolean.class.equals(this.returnType)
+                        || int.class.equals(this.returnType) || Integer.class.equals(this.returnType)
+                        || long.class.equals(this.returnType) || Long.class.equals(this.returnType),
+                () -> String.format("Update method '%s' must return void, boolean, int or long.", queryMethod.getName()));
+    }
+
+    /**
+     * @param methodName Name of a repository method
+     * @return True if named {@code update...By...} or {@code increment...By...}
+     */
+    public static boolean isUpdateMethod(String methodName) {
+        return UPDATE_METHOD.matcher(methodName).matches();
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
+
+        Object[] values = new Object[this.attributes.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = accessor.getBindableValue(this.criteriaArguments + i);
+            Class<?> fieldType = this.attributeTypes[i];
+            Object value = values[i];
+            String attribute = this.attributes[i];
+            if (this.increment) {
+                Assert.notNull(value, () -> String.format("Cannot increment '%s' by null.", attribute));
+            } else {
+                Assert.isTrue(value == null ? !fieldType.isPrimitive() : ClassUtils.isAssignableValue(fieldType, value),
+                        () -> String.format("Cannot set '%s' of type %s to %s.", attribute, fieldType.getName(),
+                                value == null ? "null" : value.getClass().getName()));
+            }
+        }
+        UpdateEntryProcessor update = (this.increment ? UpdateEntryProcessor.increment(this.attributes, values)
+                : UpdateEntryProcessor.set(this.attributes, values));
+
+        Long updated;
+        if (this.byId) {
+            Object id = accessor.getBindableValue(0);
+            updated = keyValueOperations.execute(adapter -> ((HazelcastKeyValueAdapter) adapter).update(id, update,
+                    keySpace) ? 1L : 0L);
+        } else {
+            KeyValueQuery<?> query = new HazelcastQueryCreator(this.tree, accessor, this.annotations).createQuery();
+            updated = keyValueOperations.execute(adapter -> ((HazelcastKeyValueAdapter) adapter).getQueryEngine()
+                    .update(query, update, keySpace));
+        }
+
+        long count = (updated == null ? 0L : updated);
+        if (boolean.class.equals(this.returnType) || Boolean.class.equals(this.returnType)) {
+            return count > 0;
+        }
+        if (int.class.equals(this.returnType) || Integer.class.equals(this.returnType)) {
+            return (int) count;
+        }
+        if (long.class.equals(this.returnType) || Long.class.equals(this.returnType)) {
+            return count;
+        }
+        return null;
+    }
+
+    /* The processor sets fields directly, so the path must lead to a field
+     * at each step, not merely a property.
+     */
+    private static Class<?> fieldType(Class<?> domainType, String attribute, String methodName) {
+        Class<?> type = domainType;
+        for (String step : attribute.split("\\.")) {
+            Field field = ReflectionUtils.findField(type, step);
+            Class<?> owner = type;
+            Assert.notNull(field, () -> String.format("Update method '%s' needs a field '%s' on %s.", methodName, step,
+                    owner.getName()));
+            type = field.getType();
+        }
+        return type;
+    }
+
+    @Override
+    public QueryMethod getQueryMethod() {
+        return this.queryMethod;
+    }
+}
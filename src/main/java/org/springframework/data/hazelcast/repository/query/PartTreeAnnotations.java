@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import org.springframework.data.hazelcast.annotation.GeoIndexed;
+import org.springframework.data.hazelcast.annotation.PartitionKey;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ * The properties of a {@link PartTree} annotated {@link PartitionKey} or {@link GeoIndexed}, found once for a query
+ * method so that creating its query on each call needs no reflection.
+ * </P>
+ */
+final class PartTreeAnnotations {
+
+    private final Set<String> partitionKeys;
+    private final Set<String> geoIndexed;
+
+    private PartTreeAnnotations(Set<String> partitionKeys, Set<String> geoIndexed) {
+        this.partitionKeys = partitionKeys;
+        this.geoIndexed = geoIndexed;
+    }
+
+    /**
+     * @param tree Parsed query method name
+     * @return The annotations on the properties it queries
+     */
+    static PartTreeAnnotations of(PartTree tree) {
+        Set<String> partitionKeys = new HashSet<>();
+        Set<String> geoIndexed = new HashSet<>();
+        for (Part part : tree.getParts()) {
+            PropertyPath path = part.getProperty();
+            if (!path.hasNext() && isAnnotated(path, PartitionKey.class)) {
+                partitionKeys.add(path.toDotPath());
+            }
+            if (isAnnotated(path.getLeafProperty(), GeoIndexed.class)) {
+                geoIndexed.add(path.toDotPath());
+            }
+        }
+        return new PartTreeAnnotations(partitionKeys, geoIndexed);
+    }
+
+    /**
+     * @param path Property of a part
+     * @return True if a top-level field annotated {@link PartitionKey}
+     */
+    boolean isPartitionKey(PropertyPath path) {
+        return !path.hasNext() && this.partitionKeys.contains(path.toDotPath());
+    }
+
+    /**
+     * @param path Property of a part
+     * @return True if the field it leads to is annotated {@link GeoIndexed}
+     */
+    boolean isGeoIndexed(PropertyPath path) {
+        return this.geoIndexed.contains(path.toDotPath());
+    }
+
+    private static boolean isAnnotated(PropertyPath leaf, Class<? extends Annotation> annotation) {
+        Field field = ReflectionUtils.findField(leaf.getOwningType().getType(), leaf.getSegment());
+        return field != null && field.isAnnotationPresent(annotation);
+    }
+}
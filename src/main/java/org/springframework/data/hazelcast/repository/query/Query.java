@@ -22,6 +22,12 @@ import java.lang.annotation.Target;
 
 /**
  * Query Annotation do define Hazelcast SqlPredicates
+ * <p>
+ * By default the value is a predicate with {@code %s} placeholders, formatted with the method arguments on each call.
+ * With {@link #sql()} set, the value is instead the condition of a {@code WHERE} clause with {@code ?} bind parameters,
+ * run by the Hazelcast SQL service. The statement text is then the same on every call, so the cluster parses and plans
+ * it once, and can use indexes.
+ * </P>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
@@ -29,4 +35,20 @@ public @interface Query {
 
     String value() default "";
 
+    /**
+     * <p>
+     * Run through the SQL service, binding method arguments to {@code ?} in order, for example
+     * {@code @Query(value = "firstname = ? AND lastname = ?", sql = true)}. Requires Jet to be enabled on the members.
+     * </P>
+     * <p>
+     * A mapping for the keyspace is created on first use if there is none, with the {@code java} value format for
+     * {@code Serializable} and {@code DataSerializable} entities and the {@code portable} format for {@code Portable}
+     * ones. Compact entities, and entities serialized some other way such as a {@code Serializable} class registered
+     * for Compact, need the mapping created by the application beforehand.
+     * </P>
+     *
+     * @return True to use the SQL service
+     */
+    boolean sql() default false;
+
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.hazelcast.annotation.CompositeIndexed;
+import org.springframework.data.hazelcast.annotation.GeoIndexed;
+import org.springframework.data.hazelcast.annotation.Indexed;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * Indexes declared on a domain class with {@link Indexed}, {@link CompositeIndexed} and {@link GeoIndexed}, created on the keyspace's map
+ * when a repository for the class is created.
+ * </P>
+ * <p>
+ * Without an index every query is a scan of every entry in every partition. As indexes may also be configured on the
+ * members directly, a derived query on an attribute with no declared index is only logged as a warning.
+ * </P>
+ */
+final class HazelcastIndexes {
+
+    private static final Log LOG = LogFactory.getLog(HazelcastIndexes.class);
+
+    private HazelcastIndexes() {
+    }
+
+    /**
+     * <p>
+     * Add the declared indexes to the map. Adding an index that already exists has no effect.
+     * </P>
+     *
+     * @param hazelcastInstance Instance holding the map
+     * @param keySpace          The map name
+     * @param domainType        Annotated domain class
+     */
+    static void createIndexes(HazelcastInstance hazelcastInstance, String keySpace, Class<?> domainType) {
+        List<IndexConfig> indexConfigs = indexConfigs(domainType);
+        if (indexConfigs.isEmpty()) {
+            return;
+        }
+
+        IMap<?, ?> map = hazelcastInstance.getMap(keySpace);
+        for (IndexConfig indexConfig : indexConfigs) {
+            LOG.debug(String.format("Adding %s index on %s to '%s'", indexConfig.getType(), indexConfig.getAttributes(),
+                    keySpace));
+            map.addIndex(indexConfig);
+        }
+    }
+
+    /**
+     * @param domainType Domain class, possibly annotated
+     * @return Index configurations for the annotations, composite indexes first
+     */
+    static List<IndexConfig> indexConfigs(Class<?> domainType) {
+        List<IndexConfig> indexConfigs = new ArrayList<>();
+
+        for (CompositeIndexed compositeIndexed : AnnotatedElementUtils.findMergedRepeatableAnnotations(domainType,
+                CompositeIndexed.class)) {
+            indexConfigs.add(named(new IndexConfig(compositeIndexed.type(), compositeIndexed.attributes()),
+                    compositeIndexed.name()));
+        }
+
+        ReflectionUtils.doWithFields(domainType, field -> {
+            Indexed indexed = field.getAnnotation(Indexed.class);
+            if (indexed != null) {
+                indexConfigs.add(named(new IndexConfig(indexed.type(), field.getName()), indexed.name()));
+            }
+            if (field.isAnnotationPresent(GeoIndexed.class)) {
+                indexConfigs.add(new IndexConfig(IndexType.SORTED, field.getName() + ".x"));
+                indexConfigs.add(new IndexConfig(IndexType.SORTED, field.getName() + ".y"));
+            }
+        });
+
+        return indexConfigs;
+    }
+
+    /**
+     * <p>
+     * Log a warning for each attribute a derived query filters on that does not lead any declared index.
+     * </P>
+     *
+     * @param queryMethod A derived query method
+     */
+    static void warnIfUnindexed(QueryMethod queryMethod) {
+        Class<?> domainType = queryMethod.getEntityInformation().getJavaType();
+
+        Set<String> leadingAttributes = new HashSet<>();
+        for (IndexConfig indexConfig : indexConfigs(domainType)) {
+            leadingAttributes.add(indexConfig.getAttributes().get(0));
+        }
+
+        Set<String> unindexedAttributes = new LinkedHashSet<>();
+        for (Part part : new PartTree(queryMethod.getName(), domainType).getParts()) {
+            String attribute = part.getProperty().toDotPath();
+            if (!leadingAttributes.contains(attribute) && !leadingAttributes.contains(attribute + ".x")) {
+                unindexedAttributes.add(attribute);
+            }
+        }
+
+        for (String attribute : unindexedAttributes) {
+            LOG.warn(String.format("Query method '%s' filters on '%s' of %s, which has no @Indexed or leading "
+                            + "@CompositeIndexed declaration; unless indexed on the members, every partition is scanned",
+                    queryMethod.getName(), attribute, domainType.getName()));
+        }
+    }
+
+    private static IndexConfig named(IndexConfig indexConfig, String name) {
+        return name.isEmpty() ? indexConfig : indexConfig.setName(name);
+    }
+}
@@ -17,6 +17,7 @@ package org.springframework.data.hazelcast.repository.support;
 
 import com.hazelcast.core.HazelcastInstance;
 import org.springframework.data.hazelcast.repository.query.HazelcastPartTreeQuery;
+import org.springframework.data.hazelcast.repository.query.HazelcastUpdateQuery;
 import org.springframework.data.keyvalue.core.KeyValueOperations;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.NamedQueries;
@@ -81,6 +82,10 @@ public class HazelcastQueryLookupStrategy
      * <p>
      * Use {@link HazelcastPartTreeQuery} for resolving queries against Hazelcast repositories.
      * </P>
+     * <p>
+     * Derived queries filtering on attributes without a declared index are logged, as they scan every entry.
+     * Methods named {@code update...By...} or {@code increment...By...} use {@link HazelcastUpdateQuery}.
+     * </P>
      *
      * @param Method,             the query method
      * @param RepositoryMetadata, not used
@@ -91,13 +96,23 @@ public class HazelcastQueryLookupStrategy
     public RepositoryQuery resolveQuery(Method method, RepositoryMetadata metadata, ProjectionFactory projectionFactory,
                                         NamedQueries namedQueries) {
 
-        HazelcastQueryMethod queryMethod = new HazelcastQueryMethod(method, metadata, projectionFactory);
+        HazelcastQueryMethod queryMethod = this.createQueryMethod(method, metadata, projectionFactory);
 
         if (queryMethod.hasAnnotatedQuery()) {
-            return new StringBasedHazelcastRepositoryQuery(queryMethod, hazelcastInstance);
+            return new StringBasedHazelcastRepositoryQuery(queryMethod, this.keyValueOperations, hazelcastInstance);
+        }
+
+        if (HazelcastUpdateQuery.isUpdateMethod(method.getName())) {
+            return new HazelcastUpdateQuery(queryMethod, this.keyValueOperations);
         }
 
+        HazelcastIndexes.warnIfUnindexed(queryMethod);
         return new HazelcastPartTreeQuery(queryMethod, evaluationContextProvider, this.keyValueOperations, this.queryCreator);
     }
 
+    protected HazelcastQueryMethod createQueryMethod(Method method, RepositoryMetadata metadata,
+                                                     ProjectionFactory projectionFactory) {
+        return new HazelcastQueryMethod(method, metadata, projectionFactory);
+    }
+
 }
@@ -16,6 +16,7 @@
 package org.springframework.data.hazelcast.repository.support;
 
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.data.hazelcast.repository.query.Query;
 import org.springframework.data.keyvalue.annotation.KeySpace;
 import org.springframework.data.projection.ProjectionFactory;
@@ -23,7 +24,10 @@ import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.util.StringUtils;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
 
 /**
  * Hazelcast {@link QueryMethod} Implementation
@@ -32,10 +36,12 @@ public class HazelcastQueryMethod
         extends QueryMethod {
 
     private final Method method;
+    private final Class<?> repositoryInterface;
 
     public HazelcastQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
         super(method, metadata, factory);
         this.method = method;
+        this.repositoryInterface = metadata.getRepositoryInterface();
     }
 
     public boolean hasAnnotatedQuery() {
@@ -48,6 +54,40 @@ public class HazelcastQueryMethod
         return (StringUtils.hasText(queryString) ? queryString : null);
     }
 
+    /**
+     * <p>
+     * Look up an annotation on the repository method, including meta-annotations.
+     * </P>
+     *
+     * @param annotationType Annotation to find
+     * @param <A>            Annotation type
+     * @return The annotation or {@code null} if not present
+     */
+    public <A extends Annotation> A getMethodAnnotation(Class<A> annotationType) {
+        return AnnotationUtils.findAnnotation(method, annotationType);
+    }
+
+    /**
+     * @return Repository, method and parameter types, such as {@code PersonRepository.findByLastname(String)}
+     */
+    public String getQualifiedName() {
+        String prefix = repositoryInterface.getSimpleName() + "." + method.getName() + "(";
+        return Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName)
+                     .collect(Collectors.joining(", ", prefix, ")"));
+    }
+
+    /**
+     * @return True if the method returns {@link GeoResults}, the matches with their distances
+     */
+    public boolean isGeoResultsQuery() {
+        return GeoResults.class.isAssignableFrom(method.getReturnType());
+    }
+
+    boolean isSqlQuery() {
+        Query query = method.getAnnotation(Query.class);
+        return query != null && query.sql();
+    }
+
     String getKeySpace() {
         Class<?> clazz = getEntityInformation().getJavaType();
         KeySpace keySpace = clazz.getAnnotation(KeySpace.class);
@@ -15,17 +15,26 @@
  */
 package org.springframework.data.hazelcast.repository.support;
 
+import com.hazelcast.config.IndexConfig;
 import com.hazelcast.core.HazelcastInstance;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.hazelcast.HazelcastKeyValueAdapter;
+import org.springframework.data.hazelcast.annotation.ContinuousQueryCached;
 import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.keyvalue.core.mapping.KeyValuePersistentEntity;
 import org.springframework.data.keyvalue.repository.query.SpelQueryCreator;
 import org.springframework.data.keyvalue.repository.support.KeyValueRepositoryFactory;
+import org.springframework.data.keyvalue.repository.support.SimpleKeyValueRepository;
 import org.springframework.data.mapping.PersistentEntity;
 import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryLookupStrategy;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
 import org.springframework.util.Assert;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -84,6 +93,46 @@ public class HazelcastRepositoryFactory
                 hazelcastInstance));
     }
 
+    /**
+     * <p>
+     * Use {@link SimpleHazelcastRepository}, which batches bulk operations, in place of the generic key-value
+     * repository. Other base classes, such as for Querydsl, are left as they are.
+     * </P>
+     */
+    @Override
+    protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+        Class<?> repositoryBaseClass = super.getRepositoryBaseClass(metadata);
+        return SimpleKeyValueRepository.class.equals(repositoryBaseClass) ? SimpleHazelcastRepository.class
+                : repositoryBaseClass;
+    }
+
+    /**
+     * <p>
+     * Create any indexes declared on the domain class before the repository is used, so its queries do not scan every
+     * entry, and the Continuous Query Cache for a {@link ContinuousQueryCached @ContinuousQueryCached} class.
+     * </P>
+     */
+    @Override
+    protected Object getTargetRepository(RepositoryInformation repositoryInformation) {
+        Class<?> domainType = repositoryInformation.getDomainType();
+        String keySpace = ((KeyValuePersistentEntity<?, ?>) keyValueOperations.getMappingContext()
+                                                                              .getRequiredPersistentEntity(domainType))
+                .getKeySpace();
+        HazelcastIndexes.createIndexes(hazelcastInstance, keySpace, domainType);
+
+        if (AnnotatedElementUtils.hasAnnotation(domainType, ContinuousQueryCached.class)) {
+            List<IndexConfig> indexConfigs = HazelcastIndexes.indexConfigs(domainType);
+            keyValueOperations.execute(adapter -> {
+                if (adapter instanceof HazelcastKeyValueAdapter) {
+                    ((HazelcastKeyValueAdapter) adapter).setContinuousQueryCache(keySpace, indexConfigs);
+                }
+                return null;
+            });
+        }
+
+        return super.getTargetRepository(repositoryInformation);
+    }
+
     @Override
     public <T, ID> EntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
         PersistentEntity<T, ?> entity = (PersistentEntity<T, ?>) keyValueOperations.getMappingContext()
@@ -91,4 +91,8 @@ public class HazelcastRepositoryFactoryBean<T extends Repository<S, ID>, S, ID e
         return new HazelcastRepositoryFactory(operations, queryCreator, hazelcastInstance);
     }
 
+    protected HazelcastInstance getHazelcastInstance() {
+        return hazelcastInstance;
+    }
+
 }
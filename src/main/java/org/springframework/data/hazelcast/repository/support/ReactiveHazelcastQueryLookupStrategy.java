@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.parser.AbstractQueryCreator;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ * Resolve queries as {@link HazelcastQueryLookupStrategy} does, adapting the results to {@code Flux} and {@code Mono}
+ * for reactive repositories.
+ * </P>
+ */
+public class ReactiveHazelcastQueryLookupStrategy
+        extends HazelcastQueryLookupStrategy {
+
+    public ReactiveHazelcastQueryLookupStrategy(QueryLookupStrategy.Key key,
+                                                QueryMethodEvaluationContextProvider evaluationContextProvider,
+                                                KeyValueOperations keyValueOperations,
+                                                Class<? extends AbstractQueryCreator<?, ?>> queryCreator,
+                                                HazelcastInstance hazelcastInstance) {
+        super(key, evaluationContextProvider, keyValueOperations, queryCreator, hazelcastInstance);
+    }
+
+    @Override
+    public RepositoryQuery resolveQuery(Method method, RepositoryMetadata metadata, ProjectionFactory projectionFactory,
+                                        NamedQueries namedQueries) {
+        RepositoryQuery delegate = super.resolveQuery(method, metadata, projectionFactory, namedQueries);
+        return new ReactiveHazelcastRepositoryQuery(delegate, (ReactiveHazelcastQueryMethod) delegate.getQueryMethod());
+    }
+
+    @Override
+    protected HazelcastQueryMethod createQueryMethod(Method method, RepositoryMetadata metadata,
+                                                     ProjectionFactory projectionFactory) {
+        return new ReactiveHazelcastQueryMethod(method, metadata, projectionFactory);
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Method;
+
+/**
+ * Hazelcast {@link org.springframework.data.repository.query.QueryMethod} for methods returning {@link Flux} or
+ * {@link reactor.core.publisher.Mono}, where a {@code Flux} is a query for many results.
+ * <p>
+ * A {@code Flux} query is also a {@code Stream} query, which is checked first when running it, so its results are
+ * fetched from the cluster in batches as they are requested rather than collected first.
+ * </P>
+ */
+public class ReactiveHazelcastQueryMethod
+        extends HazelcastQueryMethod {
+
+    private final boolean multiValue;
+
+    public ReactiveHazelcastQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
+        super(method, metadata, factory);
+        this.multiValue = Flux.class.isAssignableFrom(method.getReturnType());
+    }
+
+    public boolean isMultiValue() {
+        return this.multiValue;
+    }
+
+    @Override
+    public boolean isStreamQuery() {
+        return this.multiValue || super.isStreamQuery();
+    }
+
+    @Override
+    public boolean isCollectionQuery() {
+        return this.multiValue || super.isCollectionQuery();
+    }
+
+    @Override
+    public boolean isQueryForEntity() {
+        return !this.multiValue && super.isQueryForEntity();
+    }
+
+}
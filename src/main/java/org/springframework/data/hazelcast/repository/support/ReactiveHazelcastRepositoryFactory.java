@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.data.repository.query.parser.AbstractQueryCreator;
+
+import java.util.Optional;
+
+/**
+ * <p>
+ * Factory to build {@link org.springframework.data.hazelcast.repository.ReactiveHazelcastRepository} instances,
+ * backed by {@link SimpleReactiveHazelcastRepository} and {@link ReactiveHazelcastQueryLookupStrategy}.
+ * </P>
+ */
+public class ReactiveHazelcastRepositoryFactory
+        extends HazelcastRepositoryFactory {
+
+    private final KeyValueOperations keyValueOperations;
+    private final Class<? extends AbstractQueryCreator<?, ?>> queryCreator;
+    private final HazelcastInstance hazelcastInstance;
+
+    public ReactiveHazelcastRepositoryFactory(KeyValueOperations keyValueOperations,
+                                              Class<? extends AbstractQueryCreator<?, ?>> queryCreator,
+                                              HazelcastInstance hazelcastInstance) {
+        super(keyValueOperations, queryCreator, hazelcastInstance);
+
+        this.keyValueOperations = keyValueOperations;
+        this.queryCreator = queryCreator;
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    protected Optional<QueryLookupStrategy> getQueryLookupStrategy(QueryLookupStrategy.Key key,
+                                                            QueryMethodEvaluationContextProvider evaluationContextProvider) {
+        return Optional.of(new ReactiveHazelcastQueryLookupStrategy(key, evaluationContextProvider, keyValueOperations,
+                queryCreator, hazelcastInstance));
+    }
+
+    @Override
+    protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+        return SimpleReactiveHazelcastRepository.class;
+    }
+}
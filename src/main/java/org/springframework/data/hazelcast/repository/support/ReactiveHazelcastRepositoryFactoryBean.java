@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.keyvalue.repository.support.KeyValueRepositoryFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.parser.AbstractQueryCreator;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * Variant of {@link HazelcastRepositoryFactoryBean} returning {@link ReactiveHazelcastRepositoryFactory}, for
+ * {@link org.springframework.data.hazelcast.repository.ReactiveHazelcastRepository} instances.
+ * </P>
+ *
+ * @param <T>  Repository type
+ * @param <S>  Domain object class
+ * @param <ID> Domain object key
+ */
+public class ReactiveHazelcastRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends Serializable>
+        extends HazelcastRepositoryFactoryBean<T, S, ID> {
+
+    public ReactiveHazelcastRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+        super(repositoryInterface);
+    }
+
+    @Override
+    protected KeyValueRepositoryFactory createRepositoryFactory(KeyValueOperations operations,
+                                                                Class<? extends AbstractQueryCreator<?, ?>> queryCreator,
+                                                                Class<? extends RepositoryQuery> repositoryQueryType) {
+        Assert.state(getHazelcastInstance() != null, "HazelcastInstance must be set");
+
+        return new ReactiveHazelcastRepositoryFactory(operations, queryCreator, getHazelcastInstance());
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * Run a derived or {@code @Query} query for a reactive repository. Hazelcast predicate queries have no asynchronous
+ * form, so the query is run on subscription on the bounded elastic scheduler. A {@link Flux} query runs as a stream
+ * query, which fetches results from the cluster in batches, so each batch is only fetched once the subscriber has
+ * requested more than the previous ones held. Cancelling the {@code Flux} closes the stream.
+ * </P>
+ */
+public class ReactiveHazelcastRepositoryQuery
+        implements RepositoryQuery {
+
+    private final RepositoryQuery delegate;
+    private final ReactiveHazelcastQueryMethod queryMethod;
+
+    public ReactiveHazelcastRepositoryQuery(RepositoryQuery delegate, ReactiveHazelcastQueryMethod queryMethod) {
+        this.delegate = delegate;
+        this.queryMethod = queryMethod;
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        if (this.queryMethod.isMultiValue()) {
+            return Flux.defer(() -> toFlux(this.delegate.execute(parameters))).subscribeOn(Schedulers.boundedElastic());
+        }
+        return Mono.fromSupplier(() -> this.delegate.execute(parameters)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public QueryMethod getQueryMethod() {
+        return this.queryMethod;
+    }
+
+    private static Flux<?> toFlux(Object result) {
+        if (result == null) {
+            return Flux.empty();
+        }
+        if (result instanceof Stream) {
+            return Flux.fromStream((Stream<?>) result);
+        }
+        if (result instanceof Iterable) {
+            return Flux.fromIterable((Iterable<?>) result);
+        }
+        return Flux.just(result);
+    }
+}
@@ -15,17 +15,43 @@
  */
 package org.springframework.data.hazelcast.repository.support;
 
-import org.springframework.data.hazelcast.repository.HazelcastRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.hazelcast.HazelcastKeyValueAdapter;
+import org.springframework.data.hazelcast.repository.HazelcastAsyncRepository;
 import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.keyvalue.core.KeyValuePersistenceExceptionTranslator;
+import org.springframework.data.keyvalue.core.mapping.KeyValuePersistentEntity;
 import org.springframework.data.keyvalue.repository.support.SimpleKeyValueRepository;
 import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.util.Assert;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * <P>A concrete implementation to instantiate directly rather than allow
  * Spring to generate.
  * </P>
+ * <P>This is also the base class for repositories Spring generates. Bulk
+ * operations ({@link #saveAll}, {@link #findAllById}, {@link #deleteAllById}
+ * and {@link #deleteAll(Iterable)}) are sent to Hazelcast as batches, so they
+ * cost one operation per partition owner rather than one per entity.
+ * Batched writes do not publish the per-entity key-value events that
+ * {@code KeyValueTemplate} publishes for single writes.
+ * </P>
+ * <P>The {@link HazelcastAsyncRepository} operations use the asynchronous
+ * {@code IMap} operations, and likewise publish no events.
+ * </P>
  *
  * @param <T>  The domain object
  * @param <ID> The key of the domain object
@@ -33,10 +59,194 @@ import java.io.Serializable;
  */
 public class SimpleHazelcastRepository<T extends Serializable, ID extends Serializable>
         extends SimpleKeyValueRepository<T, ID>
-        implements HazelcastRepository<T, ID> {
+        implements HazelcastAsyncRepository<T, ID> {
+
+    private static final KeyValuePersistenceExceptionTranslator EXCEPTION_TRANSLATOR =
+            new KeyValuePersistenceExceptionTranslator();
+
+    private final EntityInformation<T, ID> entityInformation;
+    private final KeyValueOperations operations;
+    private String keySpace;
 
     public SimpleHazelcastRepository(EntityInformation<T, ID> metadata, KeyValueOperations operations) {
         super(metadata, operations);
+        this.entityInformation = metadata;
+        this.operations = operations;
+    }
+
+    /**
+     * <P>New entities are saved individually, so an id can be generated for
+     * them. The rest are stored with one {@code putAll}.
+     * </P>
+     */
+    @Override
+    public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
+        Assert.notNull(entities, "The given Iterable of entities must not be null!");
+
+        List<S> saved = new ArrayList<>();
+        Map<ID, S> batch = new LinkedHashMap<>();
+        for (S entity : entities) {
+            if (this.entityInformation.isNew(entity)) {
+                saved.add(save(entity));
+            } else {
+                batch.put(this.entityInformation.getRequiredId(entity), entity);
+                saved.add(entity);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            if (!executeOnHazelcast(adapter -> adapter.putAll(batch, getKeySpace()))) {
+                batch.values().forEach(this::save);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * <P>Found entities are returned in the order of the ids given, missing
+     * ids are skipped.
+     * </P>
+     */
+    @Override
+    public Iterable<T> findAllById(Iterable<ID> ids) {
+        Assert.notNull(ids, "The given Iterable of id's must not be null!");
+
+        List<ID> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        Map<Object, Object> found = this.operations.execute(adapter -> adapter instanceof HazelcastKeyValueAdapter
+                ? ((HazelcastKeyValueAdapter) adapter).getAll(idList, getKeySpace()) : null);
+        if (found == null) {
+            return super.findAllById(idList);
+        }
+
+        Class<T> javaType = this.entityInformation.getJavaType();
+        List<T> result = new ArrayList<>(found.size());
+        for (ID id : idList) {
+            Object value = found.get(id);
+            if (javaType.isInstance(value)) {
+                result.add(javaType.cast(value));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        Assert.notNull(ids, "Ids must not be null!");
+
+        List<ID> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        if (!executeOnHazelcast(adapter -> adapter.deleteAll(idList, getKeySpace()))) {
+            super.deleteAllById(idList);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        Assert.notNull(entities, "The given Iterable of entities must not be null!");
+
+        List<ID> idList = new ArrayList<>();
+        entities.forEach(entity -> idList.add(this.entityInformation.getRequiredId(entity)));
+        deleteAllById(idList);
+    }
+
+    /**
+     * <P>Entities with an id are stored like an update, with {@code putAsync}
+     * or {@code setAsync} depending on the adapter's write mode.
+     * </P>
+     */
+    @Override
+    public <S extends T> CompletableFuture<S> saveAsync(S entity) {
+        Assert.notNull(entity, "Entity must not be null!");
+
+        if (this.entityInformation.getId(entity) == null) {
+            return CompletableFuture.completedFuture(save(entity));
+        }
+
+        ID id = this.entityInformation.getRequiredId(entity);
+        return executeAsync(adapter -> adapter.putAsync(id, entity, getKeySpace()), () -> save(entity))
+                .thenApply(ignored -> entity);
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> findByIdAsync(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        Class<T> javaType = this.entityInformation.getJavaType();
+        return executeAsync(adapter -> adapter.getAsync(id, getKeySpace()),
+                () -> this.operations.findById(id, javaType).orElse(null))
+                .thenApply(value -> Optional.ofNullable(javaType.isInstance(value) ? javaType.cast(value) : null));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteByIdAsync(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        return executeAsync(adapter -> adapter.deleteAsync(id, getKeySpace()), () -> {
+            deleteById(id);
+            return null;
+        }).thenAccept(ignored -> {
+        });
+    }
+
+    /* Start an asynchronous operation if the adapter is Hazelcast, otherwise
+     * run the synchronous fallback. Failures are translated as they would be
+     * for the synchronous operations.
+     */
+    private <R> CompletableFuture<R> executeAsync(Function<HazelcastKeyValueAdapter, CompletionStage<R>> action,
+                                                  Supplier<R> fallback) {
+        CompletionStage<R> stage = this.operations.execute(adapter -> adapter instanceof HazelcastKeyValueAdapter
+                ? action.apply((HazelcastKeyValueAdapter) adapter) : null);
+        if (stage == null) {
+            return CompletableFuture.completedFuture(fallback.get());
+        }
+
+        CompletableFuture<R> result = new CompletableFuture<>();
+        stage.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(translate(throwable));
+            }
+        });
+        return result;
+    }
+
+    private static Throwable translate(Throwable throwable) {
+        Throwable cause = throwable;
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            DataAccessException translated = EXCEPTION_TRANSLATOR.translateExceptionIfPossible((RuntimeException) cause);
+            if (translated != null) {
+                return translated;
+            }
+        }
+        return cause;
+    }
+
+    /* Run a batch operation if the adapter is Hazelcast, within the
+     * operations' exception translation. False if it is not.
+     */
+    private boolean executeOnHazelcast(Consumer<HazelcastKeyValueAdapter> action) {
+        return Boolean.TRUE.equals(this.operations.execute(adapter -> {
+            if (adapter instanceof HazelcastKeyValueAdapter) {
+                action.accept((HazelcastKeyValueAdapter) adapter);
+                return true;
+            }
+            return false;
+        }));
+    }
+
+    private String getKeySpace() {
+        if (this.keySpace == null) {
+            this.keySpace = ((KeyValuePersistentEntity<?, ?>) this.operations.getMappingContext()
+                    .getRequiredPersistentEntity(this.entityInformation.getJavaType())).getKeySpace();
+        }
+        return this.keySpace;
     }
 
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.hazelcast.HazelcastKeyValueAdapter;
+import org.springframework.data.hazelcast.repository.ReactiveHazelcastRepository;
+import org.springframework.data.keyvalue.core.KeyValueAdapter;
+import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.keyvalue.core.KeyValuePersistenceExceptionTranslator;
+import org.springframework.data.keyvalue.core.mapping.KeyValuePersistentEntity;
+import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * <P>Base class for {@link ReactiveHazelcastRepository} instances.
+ * </P>
+ * <P>Saves, reads and deletes by key are built on the asynchronous
+ * {@code IMap} operations. Operations with no asynchronous equivalent,
+ * such as {@link #findAll()} and {@link #count()}, are run on the bounded
+ * elastic scheduler. {@code findAll} iterates the keyspace in batches of the
+ * adapter's {@link HazelcastKeyValueAdapter#setIteratorFetchSize(int) fetch
+ * size}, fetching the next batch only when subscribers request more, so the
+ * keyspace is never held in memory whole.
+ * </P>
+ *
+ * @param <T>  The domain object
+ * @param <ID> The key of the domain object
+ */
+public class SimpleReactiveHazelcastRepository<T extends Serializable, ID extends Serializable>
+        implements ReactiveHazelcastRepository<T, ID> {
+
+    private static final KeyValuePersistenceExceptionTranslator EXCEPTION_TRANSLATOR =
+            new KeyValuePersistenceExceptionTranslator();
+
+    private final EntityInformation<T, ID> entityInformation;
+    private final KeyValueOperations operations;
+    private final HazelcastKeyValueAdapter adapter;
+    private final String keySpace;
+
+    public SimpleReactiveHazelcastRepository(EntityInformation<T, ID> metadata, KeyValueOperations operations) {
+        Assert.notNull(metadata, "EntityInformation must not be null!");
+        Assert.notNull(operations, "KeyValueOperations must not be null!");
+
+        KeyValueAdapter keyValueAdapter = operations.execute(adapter -> adapter);
+        Assert.isInstanceOf(HazelcastKeyValueAdapter.class, keyValueAdapter,
+                "Reactive repositories need a HazelcastKeyValueAdapter");
+
+        this.entityInformation = metadata;
+        this.operations = operations;
+        this.adapter = (HazelcastKeyValueAdapter) keyValueAdapter;
+        this.keySpace = ((KeyValuePersistentEntity<?, ?>) operations.getMappingContext()
+                .getRequiredPersistentEntity(metadata.getJavaType())).getKeySpace();
+    }
+
+    /**
+     * <P>An entity without an id is inserted through the operations, so one
+     * can be generated for it, on the bounded elastic scheduler.
+     * </P>
+     */
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        Assert.notNull(entity, "Entity must not be null!");
+
+        if (this.entityInformation.getId(entity) == null) {
+            return blocking(() -> this.operations.insert(entity));
+        }
+        ID id = this.entityInformation.getRequiredId(entity);
+        return async(() -> this.adapter.putAsync(id, entity, this.keySpace)).then(Mono.just(entity));
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        Assert.notNull(entities, "The given Iterable of entities must not be null!");
+
+        return Flux.fromIterable(entities).flatMapSequential(this::save);
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+        Assert.notNull(entityStream, "The given Publisher of entities must not be null!");
+
+        return Flux.from(entityStream).flatMapSequential(this::save);
+    }
+
+    @Override
+    public Mono<T> findById(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        Class<T> javaType = this.entityInformation.getJavaType();
+        return async(() -> this.adapter.getAsync(id, this.keySpace)).filter(javaType::isInstance).cast(javaType);
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<ID> id) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(ID id) {
+        return findById(id).hasElement();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<ID> id) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        Class<T> javaType = this.entityInformation.getJavaType();
+        return translate(Flux.defer(() -> Flux.fromIterable(this.adapter.getAllOf(this.keySpace))))
+                .filter(javaType::isInstance).cast(javaType)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * <P>Sorted results are fetched a page at a time by the query engine, each
+     * page only when the previous one has been emitted.
+     * </P>
+     */
+    @Override
+    public Flux<T> findAll(Sort sort) {
+        Assert.notNull(sort, "Sort must not be null!");
+
+        Class<T> javaType = this.entityInformation.getJavaType();
+        return translate(Flux.defer(() -> Flux.fromStream(
+                this.adapter.getQueryEngine().stream(new KeyValueQuery<>(sort), javaType, this.keySpace))))
+                .filter(javaType::isInstance).cast(javaType)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<T> findAllById(Iterable<ID> ids) {
+        Assert.notNull(ids, "The given Iterable of id's must not be null!");
+
+        return Flux.fromIterable(ids).flatMapSequential(this::findById);
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<ID> idStream) {
+        Assert.notNull(idStream, "The given Publisher of id's must not be null!");
+
+        return Flux.from(idStream).flatMapSequential(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return blocking(() -> this.operations.count(this.entityInformation.getJavaType()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        return async(() -> this.adapter.deleteAsync(id, this.keySpace)).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<ID> id) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        Assert.notNull(entity, "The given entity must not be null!");
+
+        return deleteById(this.entityInformation.getRequiredId(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends ID> ids) {
+        Assert.notNull(ids, "The given Iterable of id's must not be null!");
+
+        return Flux.fromIterable(ids).flatMap(this::deleteById).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        Assert.notNull(entities, "The given Iterable of entities must not be null!");
+
+        return Flux.fromIterable(entities).flatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+        Assert.notNull(entityStream, "The given Publisher of entities must not be null!");
+
+        return Flux.from(entityStream).flatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return blocking(() -> {
+            this.operations.delete(this.entityInformation.getJavaType());
+            return null;
+        }).then();
+    }
+
+    /* Start the operation on subscription, translating failures as the
+     * blocking operations would.
+     */
+    private static <R> Mono<R> async(Supplier<CompletionStage<R>> operation) {
+        return Mono.fromCompletionStage(operation).onErrorMap(RuntimeException.class, exception -> {
+            DataAccessException translated = EXCEPTION_TRANSLATOR.translateExceptionIfPossible(exception);
+            return translated != null ? translated : exception;
+        });
+    }
+
+    private static <R> Flux<R> translate(Flux<R> flux) {
+        return flux.onErrorMap(RuntimeException.class, exception -> {
+            DataAccessException translated = EXCEPTION_TRANSLATOR.translateExceptionIfPossible(exception);
+            return translated != null ? translated : exception;
+        });
+    }
+
+    private static <R> Mono<R> blocking(Supplier<R> operation) {
+        return Mono.fromSupplier(operation).subscribeOn(Schedulers.boundedElastic());
+    }
+}
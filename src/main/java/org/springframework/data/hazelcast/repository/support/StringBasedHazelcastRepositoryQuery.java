@@ -17,15 +17,53 @@ package org.springframework.data.hazelcast.repository.support;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.impl.predicates.SqlPredicate;
+import com.hazelcast.sql.SqlResult;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.hazelcast.HazelcastKeyValueAdapter;
+import org.springframework.data.hazelcast.HazelcastQueryEngine;
+import org.springframework.data.hazelcast.QueryResultCache;
+import org.springframework.data.hazelcast.repository.query.CachedResult;
+import org.springframework.data.hazelcast.repository.query.HazelcastProjection;
+import org.springframework.data.hazelcast.repository.query.HazelcastSortAccessor;
+import org.springframework.data.hazelcast.repository.query.Query;
+import org.springframework.data.keyvalue.core.KeyValueOperations;
+import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.StreamUtils;
+import org.springframework.util.ClassUtils;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link RepositoryQuery} using String based {@link SqlPredicate} to query Hazelcast Cluster.
+ * <p>
+ * A query with no parameters is parsed once. A query with {@link Query#sql() sql} set runs through the Hazelcast SQL
+ * service with bind parameters, as one constant statement per method whose plan the cluster caches. Sorting and paging
+ * are added to that statement as {@code ORDER BY}, {@code LIMIT} and {@code OFFSET} clauses, and counts and existence
+ * checks run as {@code COUNT(*)} and {@code LIMIT 1} statements on the same condition.
+ * </P>
+ * <p>
+ * Predicate queries honour {@code Pageable} and {@code Sort} arguments and page, slice, stream, count, exists and
+ * single result return types, with paging and sorting done by the members. Closed interface and DTO projections
+ * of unsorted, unpaged results are projected by the members too.
+ * </P>
  */
 public class StringBasedHazelcastRepositoryQuery
         implements RepositoryQuery {
@@ -33,19 +71,331 @@ public class StringBasedHazelcastRepositoryQuery
     private final HazelcastQueryMethod queryMethod;
     private final String keySpace;
     private final HazelcastInstance hazelcastInstance;
+    private final KeyValueOperations keyValueOperations;
+    private final SqlPredicate constantPredicate;
+    private final String sqlStatement;
+    private final String sqlCountStatement;
+    private final HazelcastProjection projection;
+    private final CachedResult cachedResult;
+    private volatile QueryResultCache resultCache;
+    private volatile boolean sqlMappingCreated;
 
     public StringBasedHazelcastRepositoryQuery(HazelcastQueryMethod queryMethod, HazelcastInstance hazelcastInstance) {
+        this(queryMethod, null, hazelcastInstance);
+    }
+
+    /**
+     * @param queryMethod        The annotated method
+     * @param keyValueOperations For Hazelcast specific operations on the query engine, may be null
+     * @param hazelcastInstance  Instance of Hazelcast
+     */
+    public StringBasedHazelcastRepositoryQuery(HazelcastQueryMethod queryMethod, KeyValueOperations keyValueOperations,
+                                               HazelcastInstance hazelcastInstance) {
         this.queryMethod = queryMethod;
         this.keySpace = queryMethod.getKeySpace();
         this.hazelcastInstance = hazelcastInstance;
+        this.keyValueOperations = keyValueOperations;
+        this.projection = HazelcastProjection.of(queryMethod);
+        this.cachedResult = (keyValueOperations != null && !queryMethod.isStreamQuery()
+                ? queryMethod.getMethodAnnotation(CachedResult.class) : null);
+
+        if (queryMethod.isSqlQuery()) {
+            this.constantPredicate = null;
+            this.sqlStatement = String.format("SELECT this FROM %s WHERE %s", quote(this.keySpace),
+                    queryMethod.getAnnotatedQuery());
+            this.sqlCountStatement = String.format("SELECT COUNT(*) FROM %s WHERE %s", quote(this.keySpace),
+                    queryMethod.getAnnotatedQuery());
+        } else {
+            this.constantPredicate = (queryMethod.getParameters().getBindableParameters().getNumberOfParameters() == 0
+                    ? new SqlPredicate(queryMethod.getAnnotatedQuery()) : null);
+            this.sqlStatement = null;
+            this.sqlCountStatement = null;
+        }
     }
 
     @Override
     public Object execute(Object[] parameters) {
+        QueryResultCache resultCache = getResultCache();
+        if (resultCache != null) {
+            return resultCache.get(parameters, () -> executeUncached(parameters));
+        }
+        return executeUncached(parameters);
+    }
+
+    private Object executeUncached(Object[] parameters) {
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), parameters);
+        Object[] bindableValues = bindableValues(accessor);
+
+        if (sqlStatement != null) {
+            return queryMethod.getResultProcessor().withDynamicProjection(accessor)
+                              .processResult(executeSql(accessor, bindableValues));
+        }
+
+        SqlPredicate sqlPredicate = (constantPredicate != null ? constantPredicate : formatPredicate(bindableValues));
+
+        if (keyValueOperations == null) {
+            return getMap(keySpace).values(sqlPredicate);
+        }
+
+        return queryMethod.getResultProcessor().withDynamicProjection(accessor)
+                          .processResult(executeQuery(sqlPredicate, accessor));
+    }
+
+    /* Honour the return type and any Pageable or Sort argument as derived
+     * queries do, sorting and paging on the members so only the rows needed
+     * are sent.
+     */
+    private Object executeQuery(SqlPredicate sqlPredicate, ParametersParameterAccessor accessor) {
+        Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+        Class<?> returnedType = queryMethod.getReturnedObjectType();
+        Pageable pageable = accessor.getPageable();
+        Sort sort = accessor.getSort();
+
+        KeyValueQuery<SqlPredicate> query = new KeyValueQuery<>(sqlPredicate);
+        if (sort.isSorted()) {
+            HazelcastSortAccessor.checkSort(sort, javaType);
+            query.setSort(sort);
+        }
+
+        if (queryMethod.isPageQuery() || queryMethod.isSliceQuery()) {
+            return executePageSliceQuery(query, pageable, javaType);
+        }
+
+        if (pageable.isPaged()) {
+            query.setOffset(pageable.getOffset());
+            query.setRows(pageable.getPageSize());
+        }
+
+        if (queryMethod.isStreamQuery()) {
+            Stream<?> stream = executeOnQueryEngine(engine -> engine.stream(query, javaType, keySpace));
+            return stream != null ? stream
+                    : StreamUtils.createStreamFromIterator(keyValueOperations.find(query, javaType).iterator());
+        }
+
+        if (queryMethod.isCollectionQuery()) {
+            if (projection != null && sort.isUnsorted() && pageable.isUnpaged()) {
+                Collection<Object[]> rows = executeOnQueryEngine(
+                        engine -> engine.project(sqlPredicate, projection, javaType, keySpace));
+                if (rows != null) {
+                    return projection.toSources(rows);
+                }
+            }
+            return toList(keyValueOperations.find(query, javaType));
+        }
+
+        if (long.class.equals(returnedType) || Long.class.equals(returnedType)) {
+            return keyValueOperations.count(query, javaType);
+        }
+
+        query.setRows(1);
+        Iterator<?> iterator = keyValueOperations.find(query, javaType).iterator();
+        if (boolean.class.equals(returnedType) || Boolean.class.equals(returnedType)) {
+            return iterator.hasNext();
+        }
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private Object executePageSliceQuery(KeyValueQuery<SqlPredicate> query, Pageable pageable, Class<?> javaType) {
+        if (pageable.isUnpaged()) {
+            List<Object> content = toList(keyValueOperations.find(query, javaType));
+            return queryMethod.isPageQuery() ? new PageImpl<>(content) : new SliceImpl<>(content);
+        }
+
+        query.setOffset(pageable.getOffset());
+
+        if (queryMethod.isSliceQuery()) {
+            query.setRows(pageable.getPageSize());
+            List<?> slice = executeOnQueryEngine(engine -> engine.executeSlice(query, javaType, keySpace));
+            if (slice == null) {
+                query.setRows(pageable.getPageSize() + 1);
+            }
+            List<?> content = (slice != null ? slice : toList(keyValueOperations.find(query, javaType)));
+            boolean hasNext = content.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+        }
+
+        query.setRows(pageable.getPageSize());
+        List<Object> content = toList(keyValueOperations.find(query, javaType));
+        SqlPredicate criteria = query.getCriteria();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> keyValueOperations.count(new KeyValueQuery<>(criteria), javaType));
+    }
+
+    /* The adapter's result cache for this method, or null if the method is not
+     * @CachedResult or the adapter is not Hazelcast.
+     */
+    private QueryResultCache getResultCache() {
+        if (cachedResult == null || resultCache != null) {
+            return resultCache;
+        }
+        String name = queryMethod.getQualifiedName();
+        int maxEntries = cachedResult.maxEntries();
+        resultCache = keyValueOperations.execute(adapter -> adapter instanceof HazelcastKeyValueAdapter
+                ? ((HazelcastKeyValueAdapter) adapter).getQueryResultCache(name, keySpace, maxEntries) : null);
+        return resultCache;
+    }
+
+    /* Run on the Hazelcast query engine within the operations' exception
+     * translation, or return null if the adapter is not Hazelcast.
+     */
+    private <T> T executeOnQueryEngine(Function<HazelcastQueryEngine, T> action) {
+        return keyValueOperations.execute(adapter -> adapter instanceof HazelcastKeyValueAdapter
+                ? action.apply(((HazelcastKeyValueAdapter) adapter).getQueryEngine()) : null);
+    }
+
+    private static List<Object> toList(Iterable<?> iterable) {
+        List<Object> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+
+    private Object[] bindableValues(ParametersParameterAccessor accessor) {
+        Object[] values = new Object[queryMethod.getParameters().getBindableParameters().getNumberOfParameters()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = accessor.getBindableValue(i);
+        }
+        return values;
+    }
+
+    private SqlPredicate formatPredicate(Object[] parameters) {
         String queryStringTemplate = queryMethod.getAnnotatedQuery();
         String queryString = String.format(queryStringTemplate, formatParameters(parameters));
-        SqlPredicate sqlPredicate = new SqlPredicate(queryString);
-        return getMap(keySpace).values(sqlPredicate);
+        return new SqlPredicate(queryString);
+    }
+
+    /* Honour the return type and any Pageable or Sort argument as predicate
+     * queries do, with the sorting and paging done by the SQL service. The
+     * mapping is created on first use, as the SQL service can only query maps
+     * it has a mapping for.
+     */
+    private Object executeSql(ParametersParameterAccessor accessor, Object[] parameters) {
+        if (!sqlMappingCreated) {
+            createSqlMapping();
+        }
+
+        Class<?> returnedType = queryMethod.getReturnedObjectType();
+        Pageable pageable = accessor.getPageable();
+        Sort sort = accessor.getSort();
+
+        if (queryMethod.isPageQuery() || queryMethod.isSliceQuery()) {
+            if (pageable.isUnpaged()) {
+                List<Object> content = sqlList(select(sort, -1, -1), parameters);
+                return queryMethod.isPageQuery() ? new PageImpl<>(content) : new SliceImpl<>(content);
+            }
+            if (queryMethod.isSliceQuery()) {
+                int size = pageable.getPageSize();
+                List<Object> content = sqlList(select(sort, pageable.getOffset(), size + 1), parameters);
+                boolean hasNext = content.size() > size;
+                return new SliceImpl<>(hasNext ? content.subList(0, size) : content, pageable, hasNext);
+            }
+            List<Object> content = sqlList(select(sort, pageable.getOffset(), pageable.getPageSize()), parameters);
+            return PageableExecutionUtils.getPage(content, pageable, () -> sqlCount(parameters));
+        }
+
+        long offset = (pageable.isPaged() ? pageable.getOffset() : -1);
+        int rows = (pageable.isPaged() ? pageable.getPageSize() : -1);
+
+        if (queryMethod.isStreamQuery()) {
+            return sqlStream(select(sort, offset, rows), parameters);
+        }
+        if (queryMethod.isCollectionQuery()) {
+            return sqlList(select(sort, offset, rows), parameters);
+        }
+        if (long.class.equals(returnedType) || Long.class.equals(returnedType)) {
+            return sqlCount(parameters);
+        }
+        if (boolean.class.equals(returnedType) || Boolean.class.equals(returnedType)) {
+            return !sqlList(select(Sort.unsorted(), -1, 1), parameters).isEmpty();
+        }
+        List<Object> first = sqlList(select(sort, offset, 1), parameters);
+        return first.isEmpty() ? null : first.get(0);
+    }
+
+    /* The select statement with any ordering and paging. Sort properties
+     * must be top-level attributes, as nested objects are single columns.
+     */
+    private String select(Sort sort, long offset, int rows) {
+        StringBuilder statement = new StringBuilder(sqlStatement);
+        String separator = " ORDER BY ";
+        for (Sort.Order order : sort) {
+            if (order.getProperty().contains(".")) {
+                throw new IllegalArgumentException(String.format("Cannot sort SQL query '%s' by nested property '%s'.",
+                        queryMethod.getName(), order.getProperty()));
+            }
+            if (order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                throw new IllegalArgumentException(String.format("Cannot sort SQL query '%s' with %s.",
+                        queryMethod.getName(), order.getNullHandling()));
+            }
+            String column = quote(order.getProperty());
+            statement.append(separator).append(order.isIgnoreCase() ? "LOWER(" + column + ")" : column)
+                     .append(order.isAscending() ? " ASC" : " DESC");
+            separator = ", ";
+        }
+        if (rows > 0) {
+            statement.append(" LIMIT ").append(rows);
+        }
+        if (offset > 0) {
+            statement.append(" OFFSET ").append(offset);
+        }
+        return statement.toString();
+    }
+
+    /* A stream keeps the result open, fetching rows as they are consumed,
+     * until the stream is closed.
+     */
+    private Stream<Object> sqlStream(String statement, Object[] parameters) {
+        SqlResult sqlResult = hazelcastInstance.getSql().execute(statement, parameters);
+        return StreamUtils.createStreamFromIterator(sqlResult.iterator())
+                          .map(row -> row.getObject(0))
+                          .onClose(sqlResult::close);
+    }
+
+    private List<Object> sqlList(String statement, Object[] parameters) {
+        try (Stream<Object> rows = sqlStream(statement, parameters)) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    private long sqlCount(Object[] parameters) {
+        try (SqlResult sqlResult = hazelcastInstance.getSql().execute(sqlCountStatement, parameters)) {
+            Number count = sqlResult.iterator().next().getObject(0);
+            return count.longValue();
+        }
+    }
+
+    /* Nothing is created for a class whose value format cannot be derived,
+     * so a mapping made beforehand is used instead.
+     */
+    private void createSqlMapping() {
+        Class<?> javaType = queryMethod.getEntityInformation().getJavaType();
+        String valueOptions = valueFormatOptions(javaType);
+        if (valueOptions != null) {
+            String mapping = String.format("CREATE MAPPING IF NOT EXISTS %s TYPE IMap OPTIONS ("
+                            + "'keyFormat'='java', 'keyJavaClass'='%s', %s)", quote(keySpace),
+                    ClassUtils.resolvePrimitiveIfNecessary(queryMethod.getEntityInformation().getIdType()).getName(),
+                    valueOptions);
+            hazelcastInstance.getSql().execute(mapping).close();
+        }
+        sqlMappingCreated = true;
+    }
+
+    /* Java serialized and Portable entities can be described from the class.
+     * Compact ones need their columns listed, so are left to the application.
+     */
+    private static String valueFormatOptions(Class<?> javaType) {
+        if (Portable.class.isAssignableFrom(javaType)) {
+            Portable portable = (Portable) BeanUtils.instantiateClass(javaType);
+            return String.format("'valueFormat'='portable', 'valuePortableFactoryId'='%d', 'valuePortableClassId'='%d'",
+                    portable.getFactoryId(), portable.getClassId());
+        }
+        if (Serializable.class.isAssignableFrom(javaType) || DataSerializable.class.isAssignableFrom(javaType)) {
+            return String.format("'valueFormat'='java', 'valueJavaClass'='%s'", javaType.getName());
+        }
+        return null;
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
     }
 
     private Object[] formatParameters(Object[] parameters) {
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.hazelcast.repository.query.HazelcastProjection;
+import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+import org.springframework.data.repository.query.QueryMethod;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ContinuousQueryCacheTest {
+
+    private static final String KEYSPACE = "cached";
+    private static final int ENTRIES = 10;
+    private static final long TIMEOUT_MILLIS = 10_000L;
+
+    private final List<String> mapCalls = Collections.synchronizedList(new ArrayList<>());
+    private HazelcastInstance hazelcastInstance;
+    private HazelcastKeyValueAdapter adapter;
+
+    @Before
+    public void setUp() {
+        this.hazelcastInstance = Hazelcast.newHazelcastInstance(HazelcastUtils.hazelcastConfig());
+        this.adapter = new HazelcastKeyValueAdapter(this.hazelcastInstance) {
+            @Override
+            protected IMap<Object, Object> getMap(String keyspace) {
+                return recording(super.getMap(keyspace));
+            }
+        };
+
+        /* Out of order, so sorting is needed.
+         */
+        IMap<Object, Object> map = this.hazelcastInstance.getMap(KEYSPACE);
+        for (int i = ENTRIES - 1; i >= 0; i--) {
+            map.set(Integer.toString(i), new Item(i));
+        }
+
+        this.adapter.setContinuousQueryCache(KEYSPACE, Collections.emptyList());
+        this.mapCalls.clear();
+    }
+
+    @After
+    public void tearDown() {
+        this.hazelcastInstance.shutdown();
+    }
+
+    @Test
+    public void readsDoNotGoToTheMap() {
+        assertThat(this.adapter.get("3", KEYSPACE), is(new Item(3)));
+        assertThat(this.adapter.contains("4", KEYSPACE), is(true));
+        assertThat(this.adapter.count(KEYSPACE), is((long) ENTRIES));
+        assertThat(this.find(Predicates.equal("rank", 5), null, -1, -1), contains(5));
+
+        assertThat("Map calls", this.mapCalls, empty());
+    }
+
+    @Test
+    public void writesToTheMapReachTheCache() {
+        IMap<Object, Object> map = this.hazelcastInstance.getMap(KEYSPACE);
+
+        map.set(Integer.toString(ENTRIES), new Item(ENTRIES));
+        map.delete("0");
+
+        awaitTrue(() -> this.adapter.count(KEYSPACE) == ENTRIES && this.adapter.get("0", KEYSPACE) == null);
+        assertThat(this.adapter.get(Integer.toString(ENTRIES), KEYSPACE), is(new Item(ENTRIES)));
+        assertThat(this.adapter.get("0", KEYSPACE), nullValue());
+        assertThat(this.find(Predicates.greaterThan("rank", ENTRIES - 2), null, -1, -1).size(), is(2));
+
+        assertThat("Map calls", this.mapCalls, empty());
+    }
+
+    @Test
+    public void sortedReadsAreSortedLocally() {
+        assertThat(this.find(null, Sort.by(Sort.Direction.DESC, "rank"), -1, -1),
+                contains(9, 8, 7, 6, 5, 4, 3, 2, 1, 0));
+        assertThat(this.find(Predicates.lessThan("rank", 4), Sort.by("rank"), -1, -1), contains(0, 1, 2, 3));
+
+        assertThat("Map calls", this.mapCalls, empty());
+    }
+
+    @Test
+    public void pagedReadsArePagedLocally() {
+        assertThat(this.find(null, Sort.by(Sort.Direction.DESC, "rank"), 3, 4), contains(6, 5, 4, 3));
+        assertThat(this.find(Predicates.greaterThan("rank", 2), Sort.by("rank"), 2, 3), contains(5, 6, 7));
+        assertThat(this.find(null, Sort.by("rank"), 8, 5), contains(8, 9));
+
+        assertThat("Map calls", this.mapCalls, empty());
+    }
+
+    @Test
+    public void projectionsAreLocalAndOfTheRepositoryType() throws Exception {
+        IMap<Object, Object> map = this.hazelcastInstance.getMap(KEYSPACE);
+        map.set("other", "Not an item");
+        awaitTrue(() -> this.adapter.count(KEYSPACE) == ENTRIES + 1);
+
+        QueryMethod queryMethod = new QueryMethod(ItemRepository.class.getMethod("findByRankGreaterThan", int.class),
+                new DefaultRepositoryMetadata(ItemRepository.class), new SpelAwareProxyProjectionFactory());
+        Collection<Object[]> rows = this.adapter.getQueryEngine().project(Predicates.greaterThan("rank", 6),
+                HazelcastProjection.of(queryMethod), Item.class, KEYSPACE);
+
+        assertThat(rows.stream().map(row -> (Integer) row[0]).collect(Collectors.toList()), containsInAnyOrder(7, 8, 9));
+        assertThat(this.adapter.getQueryEngine().project(null, HazelcastProjection.of(queryMethod), Item.class,
+                KEYSPACE).size(), is(ENTRIES));
+
+        assertThat("Map calls", this.mapCalls, empty());
+    }
+
+    private List<Integer> find(Predicate<?, ?> criteria, Sort sort, long offset, int rows) {
+        KeyValueQuery<Predicate<?, ?>> query = new KeyValueQuery<>(criteria);
+        if (sort != null) {
+            query = query.orderBy(sort);
+        }
+        query.setOffset(offset);
+        query.setRows(rows);
+
+        return StreamSupport.stream(this.adapter.find(query, KEYSPACE, Item.class).spliterator(), false)
+                .map(Item::getRank).collect(Collectors.toList());
+    }
+
+    /* The cache is updated asynchronously.
+     */
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertTrue("Reached the cache", condition.getAsBoolean());
+    }
+
+    /* Record the calls on the map, other than to get its cache, passing all calls to the map.
+     */
+    @SuppressWarnings("unchecked")
+    private IMap<Object, Object> recording(IMap<Object, Object> map) {
+        return (IMap<Object, Object>) Proxy.newProxyInstance(IMap.class.getClassLoader(), new Class<?>[]{IMap.class},
+                (proxy, method, args) -> {
+                    if (!"getQueryCache".equals(method.getName())) {
+                        this.mapCalls.add(method.getName());
+                    }
+                    try {
+                        return method.invoke(map, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    interface ItemRepository
+            extends Repository<Item, String> {
+        List<Rank> findByRankGreaterThan(int rank);
+    }
+
+    interface Rank {
+        int getRank();
+    }
+
+    static class Item
+            implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int rank;
+
+        Item(int rank) {
+            this.rank = rank;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rank);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item && ((Item) o).rank == this.rank;
+        }
+    }
+}
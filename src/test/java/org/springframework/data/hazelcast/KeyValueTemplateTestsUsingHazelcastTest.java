@@ -15,8 +15,10 @@
  */
 package org.springframework.data.hazelcast;
 
+import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.query.impl.PredicateBuilderImpl;
 import org.junit.After;
 import org.junit.Before;
@@ -39,6 +41,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.emptyIterable;
@@ -69,6 +72,7 @@ public class KeyValueTemplateTestsUsingHazelcastTest {
     private static final KeyValueQuery<Predicate<?, ?>> HAZELCAST_QUERY = new KeyValueQuery<Predicate<?, ?>>(
             new PredicateBuilderImpl().getEntryObject().get("foo").equal("two"));
 
+    private HazelcastKeyValueAdapter adapter;
     private KeyValueTemplate operations;
 
     @BeforeClass
@@ -81,7 +85,8 @@ public class KeyValueTemplateTestsUsingHazelcastTest {
     @Before
     public void setUp()
             throws InstantiationException, IllegalAccessException {
-        this.operations = new KeyValueTemplate(HazelcastUtils.preconfiguredHazelcastKeyValueAdapter());
+        this.adapter = HazelcastUtils.preconfiguredHazelcastKeyValueAdapter();
+        this.operations = new KeyValueTemplate(this.adapter);
     }
 
     @After
@@ -240,6 +245,78 @@ public class KeyValueTemplateTestsUsingHazelcastTest {
         assertThat(operations.findAll(ALIASED.getClass()), containsInAnyOrder(ALIASED, SUBCLASS_OF_ALIASED));
     }
 
+    @Test
+    public void deleteOnMembersShouldRespectTypeInSharedKeySpace() {
+
+        operations.insert("1", ALIASED);
+        operations.insert("2", SUBCLASS_OF_ALIASED);
+
+        String keySpace = operations.getMappingContext().getRequiredPersistentEntity(ALIASED.getClass()).getKeySpace();
+        long deleted = adapter.getQueryEngine().deleteAndCount(new KeyValueQuery<>(), SUBCLASS_OF_ALIASED.getClass(),
+                keySpace);
+
+        assertThat(deleted, is(1L));
+        assertThat(operations.findAll(ALIASED.getClass()), containsInAnyOrder(ALIASED));
+    }
+
+    @Test
+    public void deleteOnMembersShouldEvictNearCache() {
+
+        String keySpace = operations.getMappingContext().getRequiredPersistentEntity(Foo.class).getKeySpace();
+        adapter.setNearCache(keySpace, 100, EvictionPolicy.LRU, 0);
+        operations.insert("1", FOO_ONE);
+        operations.insert("2", FOO_TWO);
+        operations.insert("3", FOO_THREE);
+        assertThat(operations.findById("1", Foo.class).isPresent(), is(true));
+        assertThat(operations.findById("2", Foo.class).isPresent(), is(true));
+        assertThat(operations.findById("3", Foo.class).isPresent(), is(true));
+
+        HazelcastQueryEngine engine = adapter.getQueryEngine();
+        engine.deleteAndCount(queryFor(FOO_ONE), Foo.class, keySpace);
+        engine.deleteAndReturn(queryFor(FOO_TWO), Foo.class, keySpace);
+        engine.delete(queryFor(FOO_THREE), Foo.class, keySpace);
+
+        assertThat(operations.findById("1", Foo.class).isPresent(), is(false));
+        assertThat(operations.findById("2", Foo.class).isPresent(), is(false));
+        assertThat(operations.findById("3", Foo.class).isPresent(), is(false));
+    }
+
+    private static KeyValueQuery<Predicate<?, ?>> queryFor(Foo foo) {
+        return new KeyValueQuery<>(Predicates.equal("foo", foo.getFoo()));
+    }
+
+    @Test
+    public void streamAndSliceOnMembersShouldRespectTypeInSharedKeySpace() {
+
+        operations.insert("1", ALIASED);
+        operations.insert("2", SUBCLASS_OF_ALIASED);
+
+        String keySpace = operations.getMappingContext().getRequiredPersistentEntity(ALIASED.getClass()).getKeySpace();
+        HazelcastQueryEngine engine = adapter.getQueryEngine();
+        KeyValueQuery<?> slice = new KeyValueQuery<>();
+        slice.setRows(2);
+
+        assertThat(engine.stream(new KeyValueQuery<>(), SUBCLASS_OF_ALIASED.getClass(), keySpace)
+                         .collect(Collectors.toList()), containsInAnyOrder(SUBCLASS_OF_ALIASED));
+        assertThat(engine.stream(new KeyValueQuery<>(), ALIASED.getClass(), keySpace).collect(Collectors.toList()),
+                containsInAnyOrder(ALIASED, SUBCLASS_OF_ALIASED));
+        assertThat(engine.executeSlice(slice, SUBCLASS_OF_ALIASED.getClass(), keySpace),
+                containsInAnyOrder(SUBCLASS_OF_ALIASED));
+    }
+
+    @Test
+    public void countDistinctOnMembersShouldRespectTypeInSharedKeySpace() {
+
+        operations.insert("1", ALIASED);
+        operations.insert("2", SUBCLASS_OF_ALIASED);
+
+        String keySpace = operations.getMappingContext().getRequiredPersistentEntity(ALIASED.getClass()).getKeySpace();
+        HazelcastQueryEngine engine = adapter.getQueryEngine();
+
+        assertThat(engine.countDistinct(new KeyValueQuery<>(), SUBCLASS_OF_ALIASED.getClass(), keySpace), is(1L));
+        assertThat(engine.countDistinct(new KeyValueQuery<>(), ALIASED.getClass(), keySpace), is(2L));
+    }
+
     @KeySpace
     @Persistent
     @Retention(RetentionPolicy.RUNTIME)
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class KeyspaceIterationTest {
+
+    private static final String KEYSPACE = "iteration";
+    private static final int ENTRIES = 10;
+
+    private final List<Integer> fetchSizes = new ArrayList<>();
+    private HazelcastInstance hazelcastInstance;
+    private HazelcastKeyValueAdapter adapter;
+
+    @Before
+    public void setUp() {
+        this.hazelcastInstance = Hazelcast.newHazelcastInstance(HazelcastUtils.hazelcastConfig());
+        this.adapter = new HazelcastKeyValueAdapter(this.hazelcastInstance) {
+            @Override
+            protected IMap<Object, Object> getMap(String keyspace) {
+                return recording(super.getMap(keyspace));
+            }
+        };
+        for (int i = 0; i < ENTRIES; i++) {
+            this.hazelcastInstance.getMap(KEYSPACE).set(i, "value" + i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        this.hazelcastInstance.shutdown();
+    }
+
+    @Test
+    public void getAllOfHonoursFetchSize() {
+        this.adapter.setIteratorFetchSize(3);
+
+        Set<Object> values = new HashSet<>();
+        this.adapter.getAllOf(KEYSPACE).forEach(values::add);
+
+        assertEquals("Every entry", ENTRIES, values.size());
+        assertEquals("Fetched in batches of three", 1, this.fetchSizes.size());
+        assertEquals("Fetched in batches of three", Integer.valueOf(3), this.fetchSizes.get(0));
+    }
+
+    @Test
+    public void eachIteratorStartsNewPass() {
+        this.adapter.setIteratorFetchSize(4);
+        Iterable<?> values = this.adapter.getAllOf(KEYSPACE);
+
+        assertEquals("First pass", ENTRIES, count(values));
+        assertEquals("Second pass", ENTRIES, count(values));
+        assertEquals("A map iterator for each pass", 2, this.fetchSizes.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fetchSizeMustBePositive() {
+        this.adapter.setIteratorFetchSize(0);
+    }
+
+    private static int count(Iterable<?> iterable) {
+        int count = 0;
+        for (Object ignored : iterable) {
+            count++;
+        }
+        return count;
+    }
+
+    /* Record the fetch size of each map iterator, passing all calls to the map.
+     */
+    @SuppressWarnings("unchecked")
+    private IMap<Object, Object> recording(IMap<Object, Object> map) {
+        return (IMap<Object, Object>) Proxy.newProxyInstance(IMap.class.getClassLoader(), new Class<?>[]{IMap.class},
+                (proxy, method, args) -> {
+                    if ("iterator".equals(method.getName()) && args != null && args.length == 1) {
+                        this.fetchSizes.add((Integer) args[0]);
+                    }
+                    try {
+                        return method.invoke(map, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class NearCacheTest {
+
+    private static final SerializationService SERIALIZATION_SERVICE = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        NearCache nearCache = new NearCache(2, EvictionPolicy.LRU, 0, SERIALIZATION_SERVICE);
+
+        nearCache.put("1940", "James Stewart", nearCache.reserve());
+        nearCache.put("1942", "James Cagney", nearCache.reserve());
+        nearCache.get("1940");
+        nearCache.put("1944", "Bing Crosby", nearCache.reserve());
+
+        assertEquals("Recently read", "James Stewart", nearCache.get("1940"));
+        assertNull("Evicted", nearCache.get("1942"));
+        assertEquals("Added", "Bing Crosby", nearCache.get("1944"));
+    }
+
+    @Test
+    public void leastFrequentlyUsedEntryIsEvicted() {
+        NearCache nearCache = new NearCache(2, EvictionPolicy.LFU, 0, SERIALIZATION_SERVICE);
+
+        nearCache.put("1940", "James Stewart", nearCache.reserve());
+        nearCache.put("1942", "James Cagney", nearCache.reserve());
+        nearCache.get("1940");
+        nearCache.get("1940");
+        nearCache.get("1942");
+        nearCache.put("1944", "Bing Crosby", nearCache.reserve());
+
+        assertEquals("Read most", "James Stewart", nearCache.get("1940"));
+        assertNull("Evicted", nearCache.get("1942"));
+        assertEquals("Size", 2, nearCache.size());
+    }
+
+    @Test
+    public void entriesExpire() {
+        AtomicLong now = new AtomicLong();
+        NearCache nearCache = new NearCache(10, EvictionPolicy.LRU, 60, SERIALIZATION_SERVICE, now::get);
+
+        nearCache.put("1940", "James Stewart", nearCache.reserve());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertEquals("Live", "James Stewart", nearCache.get("1940"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNull("Expired", nearCache.get("1940"));
+    }
+
+    @Test
+    public void valueFetchedBeforeInvalidationIsNotStored() {
+        NearCache nearCache = new NearCache(10, EvictionPolicy.LRU, 0, SERIALIZATION_SERVICE);
+
+        long reservation = nearCache.reserve();
+        nearCache.invalidate("1940");
+        nearCache.put("1940", "James Stewart", reservation);
+        assertNull("Stale", nearCache.get("1940"));
+
+        nearCache.put("1940", "James Stewart", nearCache.reserve());
+        nearCache.invalidateAll();
+        assertNull("Cleared", nearCache.get("1940"));
+    }
+
+    @Test
+    public void readsReturnCopies() {
+        NearCache nearCache = new NearCache(10, EvictionPolicy.LRU, 0, SERIALIZATION_SERVICE);
+        List<String> winners = new ArrayList<>(Arrays.asList("James Stewart"));
+
+        nearCache.put("1940", winners, nearCache.reserve());
+        winners.add("Modified after caching");
+        @SuppressWarnings("unchecked") List<String> read = (List<String>) nearCache.get("1940");
+        read.add("Modified after reading");
+
+        assertEquals("As cached", Arrays.asList("James Stewart"), nearCache.get("1940"));
+        assertNotSame("Own copy", read, nearCache.get("1940"));
+    }
+
+    @Test
+    public void mergedEntryIsInvalidated() {
+        NearCache nearCache = new NearCache(10, EvictionPolicy.LRU, 0, SERIALIZATION_SERVICE);
+
+        nearCache.put("1940", "James Stewart", nearCache.reserve());
+        nearCache.entryMerged(new EntryEvent<>("Actors", null, EntryEventType.MERGED.getType(), "1940", "Henry Fonda"));
+
+        assertNull("Merged", nearCache.get("1940"));
+    }
+}
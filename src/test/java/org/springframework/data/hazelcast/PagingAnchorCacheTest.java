@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import org.junit.Test;
+import org.springframework.data.hazelcast.repository.query.HazelcastPropertyComparator;
+
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PagingAnchorCacheTest {
+
+    private static final String KEYSPACE = "keyspace";
+
+    @Test
+    public void anchorsAreRestoredForSameQuery() {
+        PagingAnchorCache cache = new PagingAnchorCache(10);
+
+        PagingPredicateImpl<Object, Object> first = pagingPredicate("James");
+        first.setPage(1);
+        first.setAnchor(0, anchor("1940", "James Stewart"));
+        first.setAnchor(1, anchor("1942", "James Cagney"));
+        cache.save(KEYSPACE, first);
+
+        PagingPredicateImpl<Object, Object> second = pagingPredicate("James");
+        second.setPage(2);
+        cache.restore(KEYSPACE, second);
+
+        assertEquals("Anchors restored", 2, second.getAnchorList().size());
+        assertEquals("Resumes from previous page", Integer.valueOf(1), second.getNearestAnchorEntry().getKey());
+    }
+
+    @Test
+    public void anchorsAreNotSharedBetweenQueries() {
+        PagingAnchorCache cache = new PagingAnchorCache(10);
+
+        PagingPredicateImpl<Object, Object> first = pagingPredicate("James");
+        first.setPage(1);
+        first.setAnchor(0, anchor("1940", "James Stewart"));
+        cache.save(KEYSPACE, first);
+
+        PagingPredicateImpl<Object, Object> otherPredicate = pagingPredicate("Bing");
+        otherPredicate.setPage(1);
+        cache.restore(KEYSPACE, otherPredicate);
+        assertTrue("Different predicate", otherPredicate.getAnchorList().isEmpty());
+
+        PagingPredicateImpl<Object, Object> otherKeyspace = pagingPredicate("James");
+        otherKeyspace.setPage(1);
+        cache.restore("other", otherKeyspace);
+        assertTrue("Different keyspace", otherKeyspace.getAnchorList().isEmpty());
+    }
+
+    @Test
+    public void leastRecentlyUsedQueryIsDropped() {
+        PagingAnchorCache cache = new PagingAnchorCache(1);
+
+        PagingPredicateImpl<Object, Object> first = pagingPredicate("James");
+        first.setPage(1);
+        first.setAnchor(0, anchor("1940", "James Stewart"));
+        cache.save(KEYSPACE, first);
+
+        PagingPredicateImpl<Object, Object> second = pagingPredicate("Bing");
+        second.setPage(1);
+        second.setAnchor(0, anchor("1944", "Bing Crosby"));
+        cache.save(KEYSPACE, second);
+
+        PagingPredicateImpl<Object, Object> restored = pagingPredicate("James");
+        restored.setPage(1);
+        cache.restore(KEYSPACE, restored);
+        assertTrue("Evicted", restored.getAnchorList().isEmpty());
+    }
+
+    private static Map.Entry<Object, Object> anchor(String key, String value) {
+        return new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static PagingPredicateImpl<Object, Object> pagingPredicate(String firstname) {
+        return new PagingPredicateImpl(Predicates.equal("firstname", firstname),
+                new HazelcastPropertyComparator("lastname", true), 1);
+    }
+}
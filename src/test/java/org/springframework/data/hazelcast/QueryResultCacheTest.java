@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryResultCacheTest {
+
+    @Test
+    public void resultIsReusedForSameParameters() {
+        QueryResultCache cache = new QueryResultCache("PersonRepository.findByFirstname(String)", 10,
+                new KeyspaceVersion());
+        AtomicInteger executions = new AtomicInteger();
+
+        cache.get(new Object[]{"James"}, executions::incrementAndGet);
+        Object result = cache.get(new Object[]{"James"}, executions::incrementAndGet);
+        cache.get(new Object[]{"Bing"}, executions::incrementAndGet);
+
+        assertEquals("Reused", 1, result);
+        assertEquals("Executions", 2, executions.get());
+        assertEquals("Hits", 1, cache.getHits());
+        assertEquals("Misses", 2, cache.getMisses());
+    }
+
+    @Test
+    public void arrayParametersAreComparedByContent() {
+        QueryResultCache cache = new QueryResultCache("PersonRepository.findByFirstnameIn(String[])", 10,
+                new KeyspaceVersion());
+        AtomicInteger executions = new AtomicInteger();
+
+        cache.get(new Object[]{new String[]{"James", "Bing"}}, executions::incrementAndGet);
+        cache.get(new Object[]{new String[]{"James", "Bing"}}, executions::incrementAndGet);
+
+        assertEquals("Executions", 1, executions.get());
+    }
+
+    @Test
+    public void resultIsDiscardedWhenKeyspaceChanges() {
+        KeyspaceVersion keyspaceVersion = new KeyspaceVersion();
+        QueryResultCache cache = new QueryResultCache("PersonRepository.findByFirstname(String)", 10, keyspaceVersion);
+        AtomicInteger executions = new AtomicInteger();
+
+        cache.get(new Object[]{"James"}, executions::incrementAndGet);
+        keyspaceVersion.increment();
+        Object result = cache.get(new Object[]{"James"}, executions::incrementAndGet);
+
+        assertEquals("Executed again", 2, result);
+        assertEquals("Hits", 0, cache.getHits());
+    }
+
+    @Test
+    public void leastRecentlyUsedParametersAreDropped() {
+        QueryResultCache cache = new QueryResultCache("PersonRepository.findByFirstname(String)", 1,
+                new KeyspaceVersion());
+        AtomicInteger executions = new AtomicInteger();
+
+        cache.get(new Object[]{"James"}, executions::incrementAndGet);
+        cache.get(new Object[]{"Bing"}, executions::incrementAndGet);
+        cache.get(new Object[]{"James"}, executions::incrementAndGet);
+
+        assertEquals("Executions", 3, executions.get());
+        assertEquals("Size", 1, cache.size());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class UpdateEntryProcessorTest {
+
+    @Test
+    public void attributesAreSet() {
+        Counter counter = new Counter();
+        Map.Entry<Object, Object> entry = new AbstractMap.SimpleEntry<>("1", counter);
+
+        Boolean updated = UpdateEntryProcessor.set(new String[]{"status", "owner.name"}, new Object[]{"CLOSED", "Bing"})
+                                              .process(entry);
+
+        assertEquals("Updated", Boolean.TRUE, updated);
+        assertSame("Stored", counter, entry.getValue());
+        assertEquals("Field", "CLOSED", counter.status);
+        assertEquals("Nested field", "Bing", counter.owner.name);
+    }
+
+    @Test
+    public void numericAttributesAreIncremented() {
+        Counter counter = new Counter();
+        counter.hits = 41;
+        Map.Entry<Object, Object> entry = new AbstractMap.SimpleEntry<>("1", counter);
+
+        UpdateEntryProcessor.increment(new String[]{"hits", "total", "amount"}, new Object[]{1, 2, new BigDecimal("0.5")})
+                            .process(entry);
+
+        assertEquals("Primitive", 42, counter.hits);
+        assertEquals("Missing boxed value counts as zero", Long.valueOf(2), counter.total);
+        assertEquals("BigDecimal", new BigDecimal("1.5"), counter.amount);
+    }
+
+    @Test
+    public void absentEntryIsNotUpdated() {
+        Map.Entry<Object, Object> entry = new AbstractMap.SimpleEntry<>("1", null);
+
+        assertNull("Absent", UpdateEntryProcessor.set(new String[]{"status"}, new Object[]{"CLOSED"}).process(entry));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownAttributeIsRejected() {
+        Map.Entry<Object, Object> entry = new AbstractMap.SimpleEntry<>("1", new Counter());
+
+        UpdateEntryProcessor.set(new String[]{"colour"}, new Object[]{"red"}).process(entry);
+    }
+
+    static class Counter
+            implements Serializable {
+        private String status = "OPEN";
+        private int hits;
+        private Long total;
+        private BigDecimal amount = BigDecimal.ONE;
+        private final Owner owner = new Owner();
+    }
+
+    static class Owner
+            implements Serializable {
+        private String name;
+    }
+}
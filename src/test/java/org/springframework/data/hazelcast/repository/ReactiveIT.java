@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository;
+
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import test.utils.TestConstants;
+import test.utils.TestData;
+import test.utils.TestDataHelper;
+import test.utils.domain.Person;
+import test.utils.repository.reactive.ReactivePersonRepository;
+
+import javax.annotation.Resource;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <p>
+ * Exercise a {@link ReactiveHazelcastRepository}, verifying against the underlying Hazelcast map.
+ * </P>
+ */
+@ActiveProfiles(TestConstants.SPRING_TEST_PROFILE_SINGLETON)
+public class ReactiveIT
+        extends TestDataHelper {
+
+    @Resource
+    private ReactivePersonRepository reactivePersonRepository;
+
+    @Test
+    public void saveFindDelete() {
+        Person person = new Person();
+        person.setId("1900");
+        person.setFirstname("Georges");
+        person.setLastname("Melies");
+
+        this.reactivePersonRepository.save(person).block();
+        assertThat("Saved", this.personMap.get("1900"), notNullValue());
+
+        Person found = this.reactivePersonRepository.findById("1900").block();
+        assertThat("Found", found, notNullValue());
+        assertThat(found.getLastname(), equalTo("Melies"));
+
+        this.reactivePersonRepository.deleteById("1900").block();
+        assertThat("Deleted", this.personMap.get("1900"), nullValue());
+        assertThat("Missing", this.reactivePersonRepository.findById("1900").block(), nullValue());
+    }
+
+    @Test
+    public void count() {
+        assertThat(this.reactivePersonRepository.count().block(), equalTo((long) TestData.bestActors.length));
+    }
+
+    @Test
+    public void derivedQueries() {
+        List<Person> james = this.reactivePersonRepository.findByFirstname("James").collectList().block();
+        assertThat("Stewart and Cagney", james.size(), equalTo(2));
+
+        assertThat(this.reactivePersonRepository.countByFirstname("James").block(), equalTo(2L));
+
+        Person hanks = this.reactivePersonRepository.findFirstByLastname("Hanks").block();
+        assertThat("Found", hanks, notNullValue());
+        assertThat(hanks.getFirstname(), equalTo("Tom"));
+    }
+
+    @Test
+    public void findAll() {
+        List<Person> everyone = this.reactivePersonRepository.findAll().collectList().block();
+        assertThat("Whole keyspace", everyone.size(), equalTo(TestData.bestActors.length));
+
+        List<Person> some = this.reactivePersonRepository.findAll().limitRate(2).take(3).collectList().block();
+        assertThat("Stops on cancel", some.size(), equalTo(3));
+    }
+
+    @Test
+    public void findAllSorted() {
+        List<Person> everyone = this.reactivePersonRepository.findAll(Sort.by("lastname")).collectList().block();
+        assertThat("Whole keyspace", everyone.size(), equalTo(TestData.bestActors.length));
+        for (int i = 1; i < everyone.size(); i++) {
+            assertThat("Sorted", everyone.get(i - 1).getLastname().compareTo(everyone.get(i).getLastname()),
+                    lessThanOrEqualTo(0));
+        }
+
+        Person first = this.reactivePersonRepository.findAll(Sort.by("lastname")).blockFirst();
+        assertThat("First only", first.getLastname(), equalTo(everyone.get(0).getLastname()));
+    }
+
+    @Test
+    public void derivedQueryOnDemand() {
+        List<Person> james = this.reactivePersonRepository.findByFirstname("James").limitRate(1).take(1)
+                                                          .collectList().block();
+        assertThat("One of Stewart and Cagney", james.size(), equalTo(1));
+        assertThat(james.get(0).getFirstname(), equalTo("James"));
+    }
+
+    @Test
+    public void annotatedQuery() {
+        List<Person> james = this.reactivePersonRepository.peopleWithTheirFirstName("James").collectList().block();
+        assertThat("Stewart and Cagney", james.size(), equalTo(2));
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import com.hazelcast.query.impl.Extractable;
+import org.junit.Test;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+
+import java.util.AbstractMap;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BoundedGeoPredicateTest {
+
+    private static final Point[] QUERY_POINTS = {
+            new Point(17.6599188, 75.9063906),
+            new Point(89.9, 0),
+            new Point(-89.5, 45),
+            new Point(0, 179.9),
+            new Point(-33.8688, -179.95),
+    };
+
+    private static final Distance[] DISTANCES = {
+            new Distance(100, Metrics.KILOMETERS),
+            new Distance(500, Metrics.MILES),
+            new Distance(2000, Metrics.NEUTRAL),
+            new Distance(25000, Metrics.KILOMETERS),
+    };
+
+    @Test
+    public void matchesGeoPredicate() {
+        Random random = new Random(1L);
+
+        for (Point queryPoint : QUERY_POINTS) {
+            for (Distance distance : DISTANCES) {
+                GeoPredicate<String, Point> expected = new GeoPredicate<>("location", queryPoint, distance);
+                GeoPredicate<String, Point> actual = new BoundedGeoPredicate<>("location", queryPoint, distance);
+
+                for (int i = 0; i < 10_000; i++) {
+                    Point point = (i % 10 == 0 ? queryPoint : nearby(random, queryPoint, i % 2 == 0 ? 2 : 180));
+                    PointEntry entry = new PointEntry(point);
+                    assertEquals(queryPoint + " " + distance + " " + point, expected.apply(entry), actual.apply(entry));
+                }
+            }
+        }
+    }
+
+    private static Point nearby(Random random, Point center, double degrees) {
+        double x = Math.max(-90, Math.min(90, center.getX() + (random.nextDouble() * 2 - 1) * degrees));
+        double y = center.getY() + (random.nextDouble() * 2 - 1) * degrees;
+        return new Point(x, y > 180 ? y - 360 : (y < -180 ? y + 360 : y));
+    }
+
+    private static class PointEntry
+            extends AbstractMap.SimpleImmutableEntry<String, Point>
+            implements Extractable {
+
+        PointEntry(Point point) {
+            super(point.toString(), point);
+        }
+
+        @Override
+        public Object getAttributeValue(String attributeName) {
+            return getValue();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import com.hazelcast.query.impl.Extractable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Throughput of {@link GeoPredicate} against {@link BoundedGeoPredicate}, applying each to a set of points spread
+ * over the globe, most of them far from the query point as for a search radius of tens of kilometers.
+ * </P>
+ * <p>
+ * Not run with the tests. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.springframework.data.hazelcast.repository.query.GeoPredicateBenchmark}.
+ * </P>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoPredicateBenchmark {
+
+    private static final Point QUERY_POINT = new Point(17.6599188, 75.9063906);
+
+    @Param({"50", "500"})
+    private double kilometers;
+
+    private Map.Entry<String, Point>[] entries;
+    private GeoPredicate<String, Point> geoPredicate;
+    private GeoPredicate<String, Point> boundedGeoPredicate;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Random random = new Random(1L);
+        this.entries = new Map.Entry[100_000];
+        for (int i = 0; i < this.entries.length; i++) {
+            Point point = new Point(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            this.entries[i] = new PointEntry(point);
+        }
+
+        Distance distance = new Distance(this.kilometers, Metrics.KILOMETERS);
+        this.geoPredicate = new GeoPredicate<>("location", QUERY_POINT, distance);
+        this.boundedGeoPredicate = new BoundedGeoPredicate<>("location", QUERY_POINT, distance);
+    }
+
+    @Benchmark
+    public int geoPredicate() {
+        return count(this.geoPredicate);
+    }
+
+    @Benchmark
+    public int boundedGeoPredicate() {
+        return count(this.boundedGeoPredicate);
+    }
+
+    private int count(GeoPredicate<String, Point> predicate) {
+        int matches = 0;
+        for (Map.Entry<String, Point> entry : this.entries) {
+            if (predicate.apply(entry)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GeoPredicateBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static class PointEntry
+            extends AbstractMap.SimpleImmutableEntry<String, Point>
+            implements Extractable {
+
+        PointEntry(Point point) {
+            super(point.toString(), point);
+        }
+
+        @Override
+        public Object getAttributeValue(String attributeName) {
+            return getValue();
+        }
+    }
+}
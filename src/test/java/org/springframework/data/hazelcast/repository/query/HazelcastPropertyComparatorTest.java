@@ -54,10 +54,44 @@ public class HazelcastPropertyComparatorTest {
         assertEquals(0, propertyComparator.compare(entry1NotComparable, entry3NotComparable));
     }
 
+    @Test
+    public void compareNestedProperties() {
+        HazelcastPropertyComparator nestedComparator = new HazelcastPropertyComparator("value.value", true);
+        Entry<String, TestData> entry1 = entryOf("testData1", new TestData(new TestData(1)));
+        Entry<String, TestData> entry2 = entryOf("testData2", new TestData(new TestData(2)));
+        Entry<String, TestData> nullParent = entryOf("testData3", new TestData(null));
+        assertEquals(-1, nestedComparator.compare(entry1, entry2));
+        assertEquals(1, nestedComparator.compare(entry2, entry1));
+        assertEquals(1, nestedComparator.compare(nullParent, entry1));
+    }
+
+    @Test
+    public void comparePropertiesWithoutGetters() {
+        HazelcastPropertyComparator fieldComparator = new HazelcastPropertyComparator("count", false);
+        Entry<String, FieldOnly> entry1 = entryOf("fieldOnly1", new FieldOnly(1));
+        Entry<String, FieldOnly> entry2 = entryOf("fieldOnly2", new FieldOnly(2));
+        assertEquals(1, fieldComparator.compare(entry1, entry2));
+        assertEquals(-1, fieldComparator.compare(entry2, entry1));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void compareUnknownPropertyFails() {
+        HazelcastPropertyComparator unknownComparator = new HazelcastPropertyComparator("missing", true);
+        unknownComparator.compare(entryOf("1", new TestData(1)), entryOf("2", new TestData(2)));
+    }
+
     private static <K, V> Entry<K, V> entryOf(K key, V value) {
         return new AbstractMap.SimpleEntry<>(key, value);
     }
 
+    private static class FieldOnly {
+        private final int count;
+
+        FieldOnly(int count) {
+            this.count = count;
+        }
+    }
+
     private static class TestData {
         private final Object value;
 
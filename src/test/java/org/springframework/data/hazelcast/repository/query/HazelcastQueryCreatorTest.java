@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.query;
+
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.PartitionPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import org.junit.Test;
+import org.springframework.data.hazelcast.annotation.PartitionKey;
+import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.repository.query.DefaultParameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HazelcastQueryCreatorTest {
+
+    @Test
+    public void testQueryOnPartitionKeyIsRoutedToItsPartition() throws Exception {
+        Predicate<?, ?> criteria = criteriaOf("findByCustomerAndStatus", "acme", "OPEN");
+
+        assertTrue(criteria instanceof PartitionPredicate);
+        assertEquals("acme", ((PartitionPredicate<?, ?>) criteria).getPartitionKey());
+    }
+
+    @Test
+    public void testInQueryOnPartitionKeyIsRoutedToEachPartition() throws Exception {
+        Predicate<?, ?> criteria = criteriaOf("findByCustomerIn", Arrays.asList("acme", "globex"));
+
+        assertTrue(criteria instanceof PartitionPredicate);
+        assertEquals(new HashSet<>(Arrays.asList("acme", "globex")),
+                new HashSet<>(((PartitionPredicate<?, ?>) criteria).getPartitionKeys()));
+    }
+
+    @Test
+    public void testOrBranchWithoutPartitionKeyRunsOnAllPartitions() throws Exception {
+        assertFalse(criteriaOf("findByCustomerOrStatus", "acme", "OPEN") instanceof PartitionPredicate);
+        assertFalse(criteriaOf("findByStatus", "OPEN") instanceof PartitionPredicate);
+        assertFalse(criteriaOf("findByCustomerIgnoreCase", "acme") instanceof PartitionPredicate);
+    }
+
+    @Test
+    public void testLimitIsTheRowCount() throws Exception {
+        KeyValueQuery<Predicate<?, ?>> query = queryOf("findTop3ByStatus", "OPEN");
+
+        assertEquals(3, query.getRows());
+        assertFalse(query.getCriteria() instanceof PagingPredicate);
+    }
+
+    @Test
+    public void testResolvingCriteriaLeavesRowCount() {
+        Predicate<Object, Object> open = Predicates.equal("status", "OPEN");
+        KeyValueQuery<Predicate<?, ?>> query = new KeyValueQuery<>(new PagingPredicateImpl<>(open, 2));
+        query.setRows(5);
+
+        Predicate<?, ?> criteria = new HazelcastCriteriaAccessor().resolve(query);
+
+        assertSame(open, criteria);
+        assertEquals(5, query.getRows());
+    }
+
+    private static Predicate<?, ?> criteriaOf(String methodName, Object... arguments) throws Exception {
+        return queryOf(methodName, arguments).getCriteria();
+    }
+
+    private static KeyValueQuery<Predicate<?, ?>> queryOf(String methodName, Object... arguments) throws Exception {
+        Method method = null;
+        for (Method candidate : OrderRepository.class.getMethods()) {
+            if (candidate.getName().equals(methodName)) {
+                method = candidate;
+            }
+        }
+        PartTree tree = new PartTree(methodName, Order.class);
+        ParametersParameterAccessor accessor = new ParametersParameterAccessor(new DefaultParameters(method),
+                arguments);
+        return new HazelcastQueryCreator(tree, accessor).createQuery();
+    }
+
+    interface OrderRepository {
+        List<Order> findByCustomerAndStatus(String customer, String status);
+
+        List<Order> findByCustomerIn(Collection<String> customers);
+
+        List<Order> findByCustomerOrStatus(String customer, String status);
+
+        List<Order> findByStatus(String status);
+
+        List<Order> findByCustomerIgnoreCase(String customer);
+
+        List<Order> findTop3ByStatus(String status);
+    }
+
+    static class Order implements Serializable {
+        @PartitionKey
+        private String customer;
+        private String status;
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.history.RevisionSort;
 import org.springframework.data.keyvalue.core.query.KeyValueQuery;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.util.ObjectUtils;
 
 import java.io.Serializable;
@@ -14,32 +15,55 @@ import static org.junit.Assert.*;
 
 public class HazelcastSortAccessorTest {
 
-    @Test(expected = UnsupportedOperationException.class)
-    public void testResolvingNonNativeNullHandlingOrderIsUnsupported() {
+    @Test
+    public void testResolvingNullHandlingOrders() {
         // given
-        KeyValueQuery<String> keyValueQuery = new KeyValueQuery<>("^pg~]=P");
-        Sort.Order sortOrder1 = Sort.Order.asc("^pg~]=P");
-        Sort.Order sortOrder2 = sortOrder1.nullsLast();
-        keyValueQuery.setSort(Sort.by(sortOrder1, sortOrder2));
+        Map.Entry<String, Foo> nullFoo = entryOf("nullFoo", new Foo(null, "aaa"));
+        Map.Entry<String, Foo> someFoo = entryOf("someFoo", new Foo("bbb", "aaa"));
+        HazelcastSortAccessor hazelcastSortAccessor = new HazelcastSortAccessor();
 
+        // when
+        Comparator<Map.Entry<?, ?>> nullsFirst = hazelcastSortAccessor.resolve(queryOf(Sort.Order.asc("foo").nullsFirst()));
+        Comparator<Map.Entry<?, ?>> nullsLast = hazelcastSortAccessor.resolve(queryOf(Sort.Order.asc("foo").nullsLast()));
+        Comparator<Map.Entry<?, ?>> descNullsLast = hazelcastSortAccessor.resolve(queryOf(Sort.Order.desc("foo").nullsLast()));
+        Comparator<Map.Entry<?, ?>> descNative = hazelcastSortAccessor.resolve(queryOf(Sort.Order.desc("foo")));
+
+        // then
+        assertTrue(nullsFirst.compare(nullFoo, someFoo) < 0);
+        assertTrue(nullsLast.compare(nullFoo, someFoo) > 0);
+        assertTrue(descNullsLast.compare(nullFoo, someFoo) > 0);
+        assertTrue(descNative.compare(nullFoo, someFoo) < 0);
+    }
+
+    @Test
+    public void testResolvingIgnoreCaseOrder() {
+        // given
+        Map.Entry<String, Foo> apple = entryOf("apple", new Foo("apple", "aaa"));
+        Map.Entry<String, Foo> banana = entryOf("banana", new Foo("Banana", "aaa"));
         HazelcastSortAccessor hazelcastSortAccessor = new HazelcastSortAccessor();
+
         // when
-        hazelcastSortAccessor.resolve(keyValueQuery);
-        // Then expect UnsupportedOperationException
+        Comparator<Map.Entry<?, ?>> ignoreCase = hazelcastSortAccessor.resolve(queryOf(Sort.Order.asc("foo").ignoreCase()));
+        Comparator<Map.Entry<?, ?>> caseSensitive = hazelcastSortAccessor.resolve(queryOf(Sort.Order.asc("foo")));
+
+        // then
+        assertTrue(ignoreCase.compare(apple, banana) < 0);
+        assertTrue(caseSensitive.compare(apple, banana) > 0);
     }
 
-    @Test(expected = UnsupportedOperationException.class)
-    public void testResolvingIgnoreCaseOrderIsUnsupported() {
+    @Test
+    public void testResolvingNestedPropertyOrder() {
         // given
+        Map.Entry<String, Outer> first = entryOf("first", new Outer(new Foo("zzz", "aaa")));
+        Map.Entry<String, Outer> second = entryOf("second", new Outer(new Foo("aaa", "bbb")));
         HazelcastSortAccessor hazelcastSortAccessor = new HazelcastSortAccessor();
-        KeyValueQuery<Object> keyValueQuery = new KeyValueQuery<>(RevisionSort.asc());
-        Sort.Order sortOrderA = Sort.Order.asc("Cannot resolve nest mates of a latent type description: ");
-        Sort.Order sortOrderB = sortOrderA.ignoreCase();
-        keyValueQuery.setSort(Sort.by(sortOrderA, sortOrderB));
 
         // when
-        hazelcastSortAccessor.resolve(keyValueQuery);
-        // Then expect UnsupportedOperationException
+        Comparator<Map.Entry<?, ?>> comparator = hazelcastSortAccessor.resolve(queryOf(Sort.Order.asc("inner.bar")));
+
+        // then
+        assertTrue(comparator.compare(first, second) < 0);
+        assertTrue(comparator.compare(second, first) > 0);
     }
 
     @Test
@@ -108,6 +132,28 @@ public class HazelcastSortAccessorTest {
         assertTrue((comparator.compare(entry3, entry4) > 0));
     }
 
+    @Test
+    public void testCheckingSortOnPropertiesOfDomainClass() {
+        HazelcastSortAccessor.checkSort(Sort.by(Sort.Order.asc("inner.foo").ignoreCase(), Sort.Order.desc("inner")),
+                Outer.class);
+    }
+
+    @Test(expected = PropertyReferenceException.class)
+    public void testCheckingSortOnUnknownPropertyFails() {
+        HazelcastSortAccessor.checkSort(Sort.by("inner.baz"), Outer.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckingSortIgnoringCaseOnNonStringFails() {
+        HazelcastSortAccessor.checkSort(Sort.by(Sort.Order.asc("inner").ignoreCase()), Outer.class);
+    }
+
+    private static KeyValueQuery<Object> queryOf(Sort.Order order) {
+        KeyValueQuery<Object> query = new KeyValueQuery<>();
+        query.setSort(Sort.by(order));
+        return query;
+    }
+
     private static <K, V> Map.Entry<K, V> entryOf(K key, V value) {
         return new AbstractMap.SimpleEntry<>(key, value);
     }
@@ -145,4 +191,14 @@ public class HazelcastSortAccessorTest {
 
     }
 
+    static class Outer
+            implements Serializable {
+
+        Foo inner;
+
+        Outer(Foo inner) {
+            this.inner = inner;
+        }
+    }
+
 }
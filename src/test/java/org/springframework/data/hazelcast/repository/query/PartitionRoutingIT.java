@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.hazelcast.repository.query;
+
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.context.ActiveProfiles;
+import test.utils.TestConstants;
+import test.utils.TestDataHelper;
+import test.utils.domain.CustomerOrder;
+import test.utils.domain.OrderKey;
+import test.utils.repository.standard.CustomerOrderRepository;
+
+import javax.annotation.Resource;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <p>
+ * Test that derived queries routed to the partitions of the {@code @PartitionKey} values they fix find the same
+ * entries as the same criteria run on every partition, and look no further.
+ * </P>
+ */
+@ActiveProfiles(TestConstants.SPRING_TEST_PROFILE_SINGLETON)
+public class PartitionRoutingIT
+        extends TestDataHelper {
+    private static final String[] CUSTOMERS = {"acme", "globex", "initech", "umbrella"};
+    private static final String[] STATUSES = {"OPEN", "SHIPPED", "CLOSED"};
+    private static final int ORDERS = 60;
+
+    @Resource
+    private CustomerOrderRepository customerOrderRepository;
+
+    private IMap<OrderKey, CustomerOrder> orderMap;
+
+    @Before
+    public void setUpOrders() {
+        this.orderMap = this.hazelcastInstance.getMap(TestConstants.ORDER_MAP_NAME);
+        for (int i = 0; i < ORDERS; i++) {
+            OrderKey key = new OrderKey(CUSTOMERS[i % CUSTOMERS.length], i);
+            this.orderMap.put(key, new CustomerOrder(key, STATUSES[i % STATUSES.length]));
+        }
+    }
+
+    /* The superclass checks only its own maps are left.
+     */
+    @After
+    public void tearDownOrders() {
+        this.orderMap.destroy();
+    }
+
+    @Test
+    public void ordersAreStoredInTheirCustomersPartition() {
+        PartitionService partitionService = this.hazelcastInstance.getPartitionService();
+
+        for (OrderKey key : this.orderMap.keySet()) {
+            assertThat(key.toString(), partitionService.getPartition(key).getPartitionId(),
+                    equalTo(partitionService.getPartition(key.getCustomer()).getPartitionId()));
+        }
+    }
+
+    @Test
+    public void findByPartitionKey() {
+        for (String customer : CUSTOMERS) {
+            List<CustomerOrder> orders = this.customerOrderRepository.findByCustomer(customer);
+
+            assertThat(customer, orders, hasSize(ORDERS / CUSTOMERS.length));
+            assertSameAsUnrouted(customer, orders, Predicates.equal("customer", customer));
+            assertThat(customer, this.customerOrderRepository.countByCustomer(customer), equalTo((long) orders.size()));
+        }
+    }
+
+    /* An order filed under another customer's key, so stored in that customer's
+     * partition, is only found by a query that is run on every partition.
+     */
+    @Test
+    public void findByPartitionKeyIsRouted() {
+        PartitionService partitionService = this.hazelcastInstance.getPartitionService();
+        String customer = CUSTOMERS[0];
+        int partitionId = partitionService.getPartition(customer).getPartitionId();
+        String elsewhere = null;
+        for (String other : CUSTOMERS) {
+            if (partitionService.getPartition(other).getPartitionId() != partitionId) {
+                elsewhere = other;
+            }
+        }
+        assertThat("Customers all in one partition", elsewhere, notNullValue());
+
+        OrderKey key = new OrderKey(elsewhere, ORDERS);
+        CustomerOrder misplaced = new CustomerOrder(key, STATUSES[0]);
+        misplaced.setCustomer(customer);
+        this.orderMap.put(key, misplaced);
+
+        assertThat(this.orderMap.values(Predicates.equal("customer", customer)), hasItem(misplaced));
+        assertThat(this.customerOrderRepository.findByCustomer(customer), not(hasItem(misplaced)));
+        assertThat(this.customerOrderRepository.countByCustomer(customer), equalTo((long) ORDERS / CUSTOMERS.length));
+    }
+
+    @Test
+    public void findByPartitionKeyIn() {
+        List<String> customers = asList(CUSTOMERS[0], CUSTOMERS[2]);
+
+        assertSameAsUnrouted("In", this.customerOrderRepository.findByCustomerIn(customers),
+                Predicates.in("customer", customers.toArray(new String[0])));
+    }
+
+    @Test
+    public void findByPartitionKeyAndOtherProperty() {
+        for (String status : STATUSES) {
+            assertSameAsUnrouted(status, this.customerOrderRepository.findByCustomerAndStatus(CUSTOMERS[1], status),
+                    Predicates.and(Predicates.equal("customer", CUSTOMERS[1]), Predicates.equal("status", status)));
+        }
+    }
+
+    @Test
+    public void findByPartitionKeyInEachOrBranch() {
+        assertSameAsUnrouted("Or", this.customerOrderRepository.findByCustomerOrCustomer(CUSTOMERS[0], CUSTOMERS[3]),
+                Predicates.or(Predicates.equal("customer", CUSTOMERS[0]), Predicates.equal("customer", CUSTOMERS[3])));
+
+        assertSameAsUnrouted("And Or",
+                this.customerOrderRepository.findByCustomerAndStatusOrCustomer(CUSTOMERS[0], STATUSES[2], CUSTOMERS[1]),
+                Predicates.or(
+                        Predicates.and(Predicates.equal("customer", CUSTOMERS[0]), Predicates.equal("status", STATUSES[2])),
+                        Predicates.equal("customer", CUSTOMERS[1])));
+    }
+
+    @Test
+    public void findByPartitionKeyInOnlyOneOrBranch() {
+        assertSameAsUnrouted("Or", this.customerOrderRepository.findByCustomerOrStatus(CUSTOMERS[0], STATUSES[1]),
+                Predicates.or(Predicates.equal("customer", CUSTOMERS[0]), Predicates.equal("status", STATUSES[1])));
+    }
+
+    private void assertSameAsUnrouted(String reason, List<CustomerOrder> routed, Predicate<OrderKey, CustomerOrder> predicate) {
+        Collection<CustomerOrder> unrouted = this.orderMap.values(predicate);
+
+        assertThat(reason, unrouted, not(hasSize(0)));
+        assertThat(reason, routed, containsInAnyOrder(unrouted.toArray()));
+    }
+}
@@ -26,6 +26,7 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Circle;
 import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Metrics;
 import org.springframework.data.geo.Point;
 import org.springframework.test.context.ActiveProfiles;
@@ -33,7 +34,9 @@ import org.springframework.util.concurrent.ListenableFuture;
 import test.utils.TestConstants;
 import test.utils.TestDataHelper;
 import test.utils.domain.City;
+import test.utils.domain.FullName;
 import test.utils.domain.Person;
+import test.utils.domain.PersonName;
 import test.utils.repository.standard.CityRepository;
 import test.utils.repository.standard.PersonRepository;
 
@@ -51,6 +54,7 @@ import java.util.stream.Stream;
 import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
@@ -1303,6 +1307,37 @@ public class QueryIT
         assertThat("1 onwards returned for @Param query", firstPageOfParamResponse, notNullValue());
     }
 
+    @Test
+    public void findByFirstnameStartsWithReusesCachedTotal() {
+        Person jamesStewart = new Person();
+        jamesStewart.setId("1940");
+        jamesStewart.setFirstname("James");
+        jamesStewart.setLastname("Stewart");
+        this.personMap.put(jamesStewart.getId(), jamesStewart);
+
+        Person jamesCagney = new Person();
+        jamesCagney.setId("1942");
+        jamesCagney.setFirstname("James");
+        jamesCagney.setLastname("Cagney");
+        this.personMap.put(jamesCagney.getId(), jamesCagney);
+
+        Pageable pageRequest = PageRequest.of(PAGE_0, SIZE_1);
+        Page<Person> pageResponse = this.personRepository.findByFirstnameStartsWith("Ja", pageRequest);
+        assertThat("Counted on first request", pageResponse.getTotalElements(), equalTo(2L));
+
+        Person jackNicholson = new Person();
+        jackNicholson.setId("1975");
+        jackNicholson.setFirstname("Jack");
+        jackNicholson.setLastname("Nicholson");
+        this.personMap.put(jackNicholson.getId(), jackNicholson);
+
+        pageResponse = this.personRepository.findByFirstnameStartsWith("Ja", pageRequest);
+        assertThat("Total reused within time-to-live", pageResponse.getTotalElements(), equalTo(2L));
+
+        pageResponse = this.personRepository.findByFirstnameStartsWith("Jac", pageRequest);
+        assertThat("Different criteria counted separately", pageResponse.getTotalElements(), equalTo(1L));
+    }
+
     // Delete methods
 
     @Test
@@ -1383,6 +1418,30 @@ public class QueryIT
         assertThat("1938 deleted", this.personMap.get("1938"), nullValue());
     }
 
+    @Test
+    public void removeByFirstnameAndLastname() {
+        // given
+        Person spenser = new Person();
+        spenser.setId("1937");
+        spenser.setFirstname("Spencer");
+        spenser.setLastname("Tracy");
+        this.personMap.put(spenser.getId(), spenser);
+
+        Person robertDonat = new Person();
+        robertDonat.setId("1939");
+        robertDonat.setFirstname("Robert");
+        robertDonat.setLastname("Donat");
+        this.personMap.put(robertDonat.getId(), robertDonat);
+
+        // when
+        this.personRepository.removeByFirstnameAndLastname("Spencer", "Tracy");
+
+        // then
+        assertThat("Delete for matched names removes from map", this.personMap.size(), equalTo(1));
+        assertThat("1937 deleted", this.personMap.get("1937"), nullValue());
+        assertThat("1939 kept", this.personMap.get("1939"), notNullValue());
+    }
+
     // Query methods
 
     @Test
@@ -1468,6 +1527,179 @@ public class QueryIT
         assertThat("1940", matches.get(0).getId(), equalTo("1940"));
     }
 
+    @Test
+    public void peopleWithTheirFirstNamePaged() {
+        String[][] jameses = {{"1940", "Stewart"}, {"1942", "Cagney"}, {"1955", "Dean"}};
+        for (String[] james : jameses) {
+            Person person = new Person();
+            person.setId(james[0]);
+            person.setFirstname("James");
+            person.setLastname(james[1]);
+            this.personMap.put(person.getId(), person);
+        }
+
+        Page<Person> first = this.personRepository.peopleWithTheirFirstName("James",
+                PageRequest.of(0, 2, Sort.by("lastname")));
+        assertThat("Total", first.getTotalElements(), equalTo(3L));
+        assertThat("Page size", first.getContent(), hasSize(2));
+        assertThat("Sorted", first.getContent().get(0).getLastname(), equalTo("Cagney"));
+        assertThat("Sorted", first.getContent().get(1).getLastname(), equalTo("Dean"));
+
+        Page<Person> second = this.personRepository.peopleWithTheirFirstName("James", first.nextPageable());
+        assertThat("Last page", second.getContent(), hasSize(1));
+        assertThat("Last page", second.getContent().get(0).getLastname(), equalTo("Stewart"));
+    }
+
+    @Test
+    public void peopleWithFirstAndLastNameUsingSql() {
+        String[][] people = {{"1940", "James", "Stewart"}, {"1942", "James", "Cagney"}, {"1944", "Bing", "Crosby"}};
+        for (String[] name : people) {
+            Person person = new Person();
+            person.setId(name[0]);
+            person.setFirstname(name[1]);
+            person.setLastname(name[2]);
+            this.personMap.put(person.getId(), person);
+        }
+
+        List<Person> matches = this.personRepository.peopleWithFirstAndLastNameUsingSql("James", "Stewart");
+        assertThat("1940", matches, hasSize(1));
+        assertThat("Mapped to entity", matches.get(0), instanceOf(Person.class));
+        assertThat("1940", matches.get(0).getId(), equalTo("1940"));
+        assertThat("1940", matches.get(0).getLastname(), equalTo("Stewart"));
+
+        List<Person> eitherMatches = this.personRepository.peopleWithEitherLastNameUsingSql("Cagney", "Crosby");
+        assertThat("Second method reuses mapping", eitherMatches, hasSize(2));
+        assertThat(eitherMatches, containsInAnyOrder(hasProperty("id", equalTo("1942")),
+                hasProperty("id", equalTo("1944"))));
+
+        assertThat("No matches", this.personRepository.peopleWithFirstAndLastNameUsingSql("Bing", "Stewart"),
+                hasSize(0));
+    }
+
+    @Test
+    public void peopleWithTheirFirstNameUsingSqlPagedAndSorted() {
+        String[][] jameses = {{"1940", "Stewart"}, {"1942", "Cagney"}, {"1955", "Dean"}};
+        for (String[] james : jameses) {
+            Person person = new Person();
+            person.setId(james[0]);
+            person.setFirstname("James");
+            person.setLastname(james[1]);
+            this.personMap.put(person.getId(), person);
+        }
+
+        Page<Person> first = this.personRepository.peopleWithTheirFirstNameUsingSql("James",
+                PageRequest.of(0, 2, Sort.by("lastname")));
+        assertThat("Total", first.getTotalElements(), equalTo(3L));
+        assertThat("Page size", first.getContent(), hasSize(2));
+        assertThat("Sorted", first.getContent().get(0).getLastname(), equalTo("Cagney"));
+        assertThat("Sorted", first.getContent().get(1).getLastname(), equalTo("Dean"));
+
+        Page<Person> second = this.personRepository.peopleWithTheirFirstNameUsingSql("James", first.nextPageable());
+        assertThat("Last page", second.getContent(), hasSize(1));
+        assertThat("Last page", second.getContent().get(0).getLastname(), equalTo("Stewart"));
+
+        Slice<Person> slice = this.personRepository.sliceOfPeopleWithTheirFirstNameUsingSql("James",
+                PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "lastname")));
+        assertThat("Slice", slice.getContent(), hasSize(1));
+        assertThat("Slice", slice.getContent().get(0).getLastname(), equalTo("Dean"));
+        assertThat("Slice has next", slice.hasNext(), equalTo(true));
+
+        assertThat("Count", this.personRepository.numberOfPeopleWithTheirFirstNameUsingSql("James"), equalTo(3L));
+        assertThat("Exists", this.personRepository.anyPeopleWithTheirFirstNameUsingSql("James"), equalTo(true));
+        assertThat("Not exists", this.personRepository.anyPeopleWithTheirFirstNameUsingSql("Bing"), equalTo(false));
+
+        Person last = this.personRepository.firstPersonWithTheirFirstNameUsingSql("James",
+                Sort.by(Sort.Direction.DESC, "lastname"));
+        assertThat("Single entity", last.getLastname(), equalTo("Stewart"));
+    }
+
+    @Test
+    public void sqlMappingIsNotReplaced() {
+        Person james = new Person();
+        james.setId("1940");
+        james.setFirstname("James");
+        james.setLastname("Stewart");
+        this.personMap.put(james.getId(), james);
+
+        this.hazelcastInstance.getSql().execute(String.format("CREATE MAPPING IF NOT EXISTS \"%s\" TYPE IMap OPTIONS ("
+                        + "'keyFormat'='java', 'keyJavaClass'='java.lang.String', "
+                        + "'valueFormat'='java', 'valueJavaClass'='%s')",
+                TestConstants.PERSON_MAP_NAME, Person.class.getName())).close();
+
+        List<Person> matches = this.personRepository.peopleWithFirstAndLastNameUsingSql("James", "Stewart");
+        assertThat("Existing mapping used", matches, hasSize(1));
+        assertThat("1940", matches.get(0).getId(), equalTo("1940"));
+    }
+
+    // Projections
+
+    @Test
+    public void findNamesByFirstname() {
+        Person bingCrosby = new Person();
+        bingCrosby.setId("1944");
+        bingCrosby.setFirstname("Bing");
+        bingCrosby.setLastname("Crosby");
+        this.personMap.put(bingCrosby.getId(), bingCrosby);
+
+        List<PersonName> names = this.personRepository.findNamesByFirstname("Bing");
+
+        assertThat("1944", names, hasSize(1));
+        assertThat("1944", names.get(0).getFirstname(), equalTo("Bing"));
+        assertThat("1944", names.get(0).getLastname(), equalTo("Crosby"));
+    }
+
+    @Test
+    public void findFullNamesByLastname() {
+        Person bingCrosby = new Person();
+        bingCrosby.setId("1944");
+        bingCrosby.setFirstname("Bing");
+        bingCrosby.setLastname("Crosby");
+        this.personMap.put(bingCrosby.getId(), bingCrosby);
+
+        List<FullName> names = this.personRepository.findFullNamesByLastname("Crosby");
+
+        assertThat("1944", names, hasSize(1));
+        assertThat("1944", names.get(0).getFirstname(), equalTo("Bing"));
+    }
+
+    // Partial updates
+
+    @Test
+    public void updateLastnameById() {
+        Person bingCrosby = new Person();
+        bingCrosby.setId("1944");
+        bingCrosby.setFirstname("Bing");
+        bingCrosby.setLastname("Crosby");
+        this.personMap.put(bingCrosby.getId(), bingCrosby);
+
+        assertThat("Updated", this.personRepository.updateLastnameById("1944", "Crosbie"), equalTo(true));
+        assertThat("Missing", this.personRepository.updateLastnameById("1945", "Crosbie"), equalTo(false));
+
+        Person updated = this.personMap.get("1944");
+        assertThat("Changed", updated.getLastname(), equalTo("Crosbie"));
+        assertThat("Unchanged", updated.getFirstname(), equalTo("Bing"));
+    }
+
+    @Test
+    public void updateFirstnameAndLastnameByFirstname() {
+        String[][] jameses = {{"1940", "Stewart"}, {"1942", "Cagney"}, {"1955", "Dean"}};
+        for (String[] james : jameses) {
+            Person person = new Person();
+            person.setId(james[0]);
+            person.setFirstname("James");
+            person.setLastname(james[1]);
+            this.personMap.put(person.getId(), person);
+        }
+
+        int updated = this.personRepository.updateFirstnameAndLastnameByFirstname("James", "Jimmy", "Unknown");
+
+        assertThat("Updated", updated, equalTo(3));
+        for (String[] james : jameses) {
+            assertThat(james[0], this.personMap.get(james[0]).getFirstname(), equalTo("Jimmy"));
+            assertThat(james[0], this.personMap.get(james[0]).getLastname(), equalTo("Unknown"));
+        }
+    }
+
     // Null handling methods
 
     @Test
@@ -1799,6 +2031,43 @@ public class QueryIT
         this.cityMap.remove(bangalore.getId());
     }
 
+    @Test
+    public void findTop2ByLocationNear() {
+        final City mumbai = new City("1001", "Mumbai", new Point(19.0990358,72.9612976));
+        final City pune = new City("1002", "Pune", new Point(18.5247663,73.792756));
+        final City bangalore = new City("1003", "Bangalore", new Point(12.9542944,77.4905127));
+        final Point solapur = new Point(17.661548,75.8835121);
+
+        this.cityMap.put(mumbai.getId(), mumbai);
+        this.cityMap.put(pune.getId(), pune);
+        this.cityMap.put(bangalore.getId(), bangalore);
+
+        List<City> matches = this.cityRepository.findTop2ByLocationNear(solapur, new Distance(1000, Metrics.KILOMETERS));
+        assertThat("Nearest first", matches, contains(pune, mumbai));
+    }
+
+    @Test
+    public void findGeoResultsByLocationNear() {
+        final City mumbai = new City("1001", "Mumbai", new Point(19.0990358,72.9612976));
+        final City pune = new City("1002", "Pune", new Point(18.5247663,73.792756));
+        final City bangalore = new City("1003", "Bangalore", new Point(12.9542944,77.4905127));
+        final Point solapur = new Point(17.661548,75.8835121);
+
+        this.cityMap.put(mumbai.getId(), mumbai);
+        this.cityMap.put(pune.getId(), pune);
+        this.cityMap.put(bangalore.getId(), bangalore);
+
+        GeoResults<City> results = this.cityRepository.findGeoResultsByLocationNear(solapur,
+                new Distance(1000, Metrics.KILOMETERS));
+        assertThat("All three", results.getContent(), hasSize(3));
+        assertThat("Nearest first", results.getContent().get(0).getContent(), equalTo(pune));
+        assertThat("Nearest first", results.getContent().get(1).getContent(), equalTo(mumbai));
+        assertThat("Nearest first", results.getContent().get(2).getContent(), equalTo(bangalore));
+        assertThat("Distance", results.getContent().get(0).getDistance().getValue(),
+                allOf(greaterThan(100.0), lessThan(250.0)));
+        assertThat("Metric", results.getContent().get(0).getDistance().getMetric(), equalTo(Metrics.KILOMETERS));
+    }
+
     @Test
     public void findByLocationNearWithShape() {
 
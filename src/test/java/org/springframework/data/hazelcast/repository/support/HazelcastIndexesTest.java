@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.hazelcast.repository.support;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import org.junit.Test;
+import org.springframework.data.hazelcast.annotation.CompositeIndexed;
+import org.springframework.data.hazelcast.annotation.Indexed;
+import test.utils.domain.Person;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HazelcastIndexesTest {
+
+    @Test
+    public void indexesFromAnnotations() {
+        List<IndexConfig> indexConfigs = HazelcastIndexes.indexConfigs(Person.class);
+
+        assertEquals("Two fields indexed", 2, indexConfigs.size());
+        assertEquals("Firstname", Arrays.asList("firstname"), indexConfigs.get(0).getAttributes());
+        assertEquals("Sorted by default", IndexType.SORTED, indexConfigs.get(0).getType());
+        assertEquals("Lastname", Arrays.asList("lastname"), indexConfigs.get(1).getAttributes());
+        assertEquals("Hash", IndexType.HASH, indexConfigs.get(1).getType());
+    }
+
+    @Test
+    public void compositeIndexesComeFirst() {
+        List<IndexConfig> indexConfigs = HazelcastIndexes.indexConfigs(Album.class);
+
+        assertEquals("Three indexes", 3, indexConfigs.size());
+        assertEquals("Composite", Arrays.asList("artist", "year"), indexConfigs.get(0).getAttributes());
+        assertEquals("Named", "artistYear", indexConfigs.get(0).getName());
+        assertEquals("Composite", Arrays.asList("title", "year"), indexConfigs.get(1).getAttributes());
+        assertEquals("Hash", IndexType.HASH, indexConfigs.get(1).getType());
+        assertEquals("Field", Arrays.asList("genre"), indexConfigs.get(2).getAttributes());
+    }
+
+    @Test
+    public void noIndexesWithoutAnnotations() {
+        assertTrue(HazelcastIndexes.indexConfigs(String.class).isEmpty());
+    }
+
+    @CompositeIndexed(attributes = {"artist", "year"}, name = "artistYear")
+    @CompositeIndexed(attributes = {"title", "year"}, type = IndexType.HASH)
+    private static class Album {
+        private String artist;
+        private String title;
+        private int year;
+        @Indexed(type = IndexType.BITMAP)
+        private String genre;
+    }
+}
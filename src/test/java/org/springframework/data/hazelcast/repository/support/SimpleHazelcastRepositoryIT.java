@@ -34,6 +34,7 @@ import test.utils.domain.Makeup;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -191,6 +192,20 @@ public class SimpleHazelcastRepositoryIT
         assertThat("1986 does not exist after", this.makeupMap.containsKey(YEAR_1986), equalTo(false));
     }
 
+    @Test
+    public void deleteAllById() {
+        List<String> years = new ArrayList<>();
+        years.add(YEAR_1986);
+        years.add(YEAR_2009);
+        years.add(YEAR_9999);
+
+        this.theRepository.deleteAllById(years);
+
+        assertThat("2009 does not exist after", this.makeupMap.containsKey(YEAR_2009), equalTo(false));
+        assertThat("1986 does not exist after", this.makeupMap.containsKey(YEAR_1986), equalTo(false));
+        assertThat("Others unchanged", this.makeupMap.size(), equalTo(TestData.bestMakeUp.length - 2));
+    }
+
     @Test
     public void deleteAll() {
         assertThat("Before", this.makeupMap.size(), equalTo(TestData.bestMakeUp.length));
@@ -287,6 +302,26 @@ public class SimpleHazelcastRepositoryIT
         assertThat("After", this.makeupMap.size(), equalTo(TestData.bestMakeUp.length + 1));
     }
 
+    @Test
+    public void async_Save_Find_Delete() throws Exception {
+        Makeup citizenKane = new Makeup();
+        citizenKane.setId(YEAR_1941);
+        citizenKane.setFilmTitle("Citizen Kane");
+        citizenKane.setArtistOrArtists("Maurice Seiderman");
+
+        Makeup saved = this.theRepository.saveAsync(citizenKane).get();
+        assertThat("Saved entry", saved, equalTo(citizenKane));
+        assertThat("After save", this.makeupMap.containsKey(YEAR_1941), equalTo(true));
+
+        Optional<Makeup> found = this.theRepository.findByIdAsync(YEAR_1941).get();
+        assertThat("Found", found.isPresent(), equalTo(true));
+        assertThat(found.get().getFilmTitle(), equalTo("Citizen Kane"));
+        assertThat("Missing", this.theRepository.findByIdAsync(YEAR_9999).get().isPresent(), equalTo(false));
+
+        this.theRepository.deleteByIdAsync(YEAR_1941).get();
+        assertThat("After delete", this.makeupMap.containsKey(YEAR_1941), equalTo(false));
+    }
+
     @Test
     public void save_Iterable_T() {
         Makeup goneWithTheWind = new Makeup();
@@ -28,6 +28,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.hazelcast.repository.config.EnableHazelcastRepositories;
+import org.springframework.data.hazelcast.repository.config.EnableReactiveHazelcastRepositories;
 import test.utils.repository.custom.MyTitleRepositoryFactoryBean;
 
 import javax.annotation.PreDestroy;
@@ -44,13 +45,16 @@ import java.util.Set;
  * </P>
  * <p>
  * Package scanning adds standard repositories, from "{@code test.utils.repository.standard}",
- * using {@link HazelcastRepositoryFactoryBean}.
+ * using {@link HazelcastRepositoryFactoryBean}, and reactive repositories from
+ * "{@code test.utils.repository.reactive}".
  * </P>
  *
  * @author Neil Stevenson
  */
 @Configuration
 @EnableHazelcastRepositories(basePackages = "test.utils.repository.standard", hazelcastInstanceRef = TestConstants.CLIENT_INSTANCE_NAME)
+@EnableReactiveHazelcastRepositories(basePackages = "test.utils.repository.reactive",
+        hazelcastInstanceRef = TestConstants.CLIENT_INSTANCE_NAME)
 public class InstanceHelper {
     private static final Logger LOG = LoggerFactory.getLogger(InstanceHelper.class);
     private static final String CLUSTER_HOST = "127.0.0.1";
@@ -85,6 +89,9 @@ public class InstanceHelper {
         hazelcastConfig.getNetworkConfig().setPort(port);
         hazelcastConfig.getNetworkConfig().setPortAutoIncrement(false);
 
+        // For @Query(sql = true) methods
+        hazelcastConfig.getJetConfig().setEnabled(true);
+
         HazelcastInstance hazelcastInstance = Hazelcast.newHazelcastInstance(hazelcastConfig);
 
         LOG.debug("Created {}", hazelcastInstance);
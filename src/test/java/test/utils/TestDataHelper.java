@@ -37,6 +37,7 @@ import test.utils.domain.Person;
 import test.utils.domain.Song;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
@@ -102,11 +103,20 @@ public abstract class TestDataHelper {
         /* As Hazelcast will create objects on demand, check no more are present
          * than should be.
          */
-        Collection<DistributedObject> distributedObjects = this.hazelcastInstance.getDistributedObjects();
+        Collection<DistributedObject> distributedObjects = this.distributedObjects();
         assertThat("Correct number of distributed objects", distributedObjects.size(),
                 equalTo(TestConstants.OSCAR_MAP_NAMES.length));
     }
 
+    /* Hazelcast's own objects, such as the SQL mapping catalog, are named with
+     * a leading "__" and are not test data.
+     */
+    private Collection<DistributedObject> distributedObjects() {
+        return this.hazelcastInstance.getDistributedObjects().stream()
+                .filter(distributedObject -> !distributedObject.getName().startsWith("__"))
+                .collect(Collectors.toList());
+    }
+
     protected void checkMapsEmpty(String phase) {
         for (String mapName : TestConstants.OSCAR_MAP_NAMES) {
             IMap<String, ?> iMap = this.hazelcastInstance.getMap(mapName);
@@ -190,7 +200,7 @@ public abstract class TestDataHelper {
 
         checkMapsEmpty("tearDown");
 
-        Collection<DistributedObject> distributedObjects = this.hazelcastInstance.getDistributedObjects();
+        Collection<DistributedObject> distributedObjects = this.distributedObjects();
 
         for (DistributedObject distributedObject : distributedObjects) {
             assertThat(distributedObject.getName(), distributedObject, instanceOf(IMap.class));
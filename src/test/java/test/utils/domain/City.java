@@ -5,6 +5,7 @@ import java.util.Objects;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.geo.Point;
+import org.springframework.data.hazelcast.annotation.GeoIndexed;
 import org.springframework.data.keyvalue.annotation.KeySpace;
 
 import test.utils.TestConstants;
@@ -22,6 +23,7 @@ public class City
 	@Id
 	private String id;
 	private String name;
+	@GeoIndexed
 	private Point location;
 
 	public City() {
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.utils.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.hazelcast.annotation.PartitionKey;
+import org.springframework.data.keyvalue.annotation.KeySpace;
+import test.utils.TestConstants;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Domain class used for tests of queries routed by {@link PartitionKey}. The customer is both the partition key of the
+ * {@link OrderKey} id and the annotated field, so an order is in the partition of its customer.
+ * </P>
+ * <p>
+ * There are no indexes, so the map is only created when first used.
+ * </P>
+ */
+@KeySpace(TestConstants.ORDER_MAP_NAME)
+public class CustomerOrder
+        implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private OrderKey id;
+    @PartitionKey
+    private String customer;
+    private String status;
+
+    public CustomerOrder() {
+    }
+
+    public CustomerOrder(OrderKey id, String status) {
+        this.id = id;
+        this.customer = id.getCustomer();
+        this.status = status;
+    }
+
+    public OrderKey getId() {
+        return id;
+    }
+
+    public void setId(OrderKey id) {
+        this.id = id;
+    }
+
+    public String getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(String customer) {
+        this.customer = customer;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, customer, status);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CustomerOrder that = (CustomerOrder) o;
+        return Objects.equals(id, that.id) && Objects.equals(customer, that.customer)
+                && Objects.equals(status, that.status);
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerOrder [id=" + id + ", status=" + status + "]";
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.utils.domain;
+
+import com.hazelcast.partition.PartitionAware;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Key of a {@link CustomerOrder}, stored in the partition of its customer so that queries fixing the customer can be
+ * routed to that partition.
+ * </P>
+ */
+public class OrderKey
+        implements PartitionAware<String>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String customer;
+    private int number;
+
+    public OrderKey() {
+    }
+
+    public OrderKey(String customer, int number) {
+        this.customer = customer;
+        this.number = number;
+    }
+
+    public String getCustomer() {
+        return customer;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    @Override
+    public String getPartitionKey() {
+        return customer;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customer, number);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OrderKey that = (OrderKey) o;
+        return number == that.number && Objects.equals(customer, that.customer);
+    }
+
+    @Override
+    public String toString() {
+        return customer + "/" + number;
+    }
+}
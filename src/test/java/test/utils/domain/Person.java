@@ -16,7 +16,9 @@
 
 package test.utils.domain;
 
+import com.hazelcast.config.IndexType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.hazelcast.annotation.Indexed;
 import org.springframework.data.keyvalue.annotation.KeySpace;
 import test.utils.TestConstants;
 
@@ -47,7 +49,9 @@ public class Person
 
     @Id
     private String id;
+    @Indexed
     private String firstname;
+    @Indexed(type = IndexType.HASH)
     private String lastname;
     private boolean isChild = false;
 
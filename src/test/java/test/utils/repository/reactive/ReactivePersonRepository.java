@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package test.utils.repository.reactive;
+
+import org.springframework.data.hazelcast.repository.ReactiveHazelcastRepository;
+import org.springframework.data.hazelcast.repository.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import test.utils.domain.Person;
+
+/**
+ * <p>
+ * Reactive repository for {@link Person}, sharing the map used by the standard repositories.
+ * </P>
+ */
+public interface ReactivePersonRepository
+        extends ReactiveHazelcastRepository<Person, String> {
+
+    public Flux<Person> findByFirstname(String firstname);
+
+    public Mono<Person> findFirstByLastname(String lastname);
+
+    public Mono<Long> countByFirstname(String firstname);
+
+    @Query("firstname=%s")
+    public Flux<Person> peopleWithTheirFirstName(String firstname);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.geo.Circle;
 import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Point;
 import org.springframework.data.geo.Shape;
 import org.springframework.data.hazelcast.repository.HazelcastRepository;
@@ -43,4 +44,8 @@ public interface CityRepository
     public List<City> findByLocationWithin(Circle circle);
     
     public Page<City> findByLocationNear(Point point, Distance distance, Pageable pageable);
+
+    public List<City> findTop2ByLocationNear(Point point, Distance distance);
+
+    public GeoResults<City> findGeoResultsByLocationNear(Point point, Distance distance);
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.utils.repository.standard;
+
+import org.springframework.data.hazelcast.repository.HazelcastRepository;
+import test.utils.domain.CustomerOrder;
+import test.utils.domain.OrderKey;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <p>
+ * Repository class used for tests of queries routed to the partitions of the customers they fix.
+ * </P>
+ */
+public interface CustomerOrderRepository
+        extends HazelcastRepository<CustomerOrder, OrderKey> {
+
+    List<CustomerOrder> findByCustomer(String customer);
+
+    List<CustomerOrder> findByCustomerIn(Collection<String> customers);
+
+    List<CustomerOrder> findByCustomerAndStatus(String customer, String status);
+
+    List<CustomerOrder> findByCustomerOrCustomer(String customer, String otherCustomer);
+
+    List<CustomerOrder> findByCustomerAndStatusOrCustomer(String customer, String status, String otherCustomer);
+
+    List<CustomerOrder> findByCustomerOrStatus(String customer, String status);
+
+    long countByCustomer(String customer);
+}
@@ -22,17 +22,21 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.hazelcast.repository.HazelcastRepository;
 import org.springframework.data.hazelcast.repository.config.EnableHazelcastRepositoriesIT;
+import org.springframework.data.hazelcast.repository.query.CachedTotal;
 import org.springframework.data.hazelcast.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.util.concurrent.ListenableFuture;
+import test.utils.domain.FullName;
 import test.utils.domain.Person;
+import test.utils.domain.PersonName;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 /**
@@ -152,6 +156,9 @@ public interface PersonRepository
                                                                                                   Pageable pageable);
 
     public Page<Person> findAllById(@Param("id") String id, Pageable pageable);
+
+    @CachedTotal(value = 10, unit = TimeUnit.MINUTES)
+    public Page<Person> findByFirstnameStartsWith(String prefix, Pageable pageable);
         
     // Delete methods
 
@@ -159,6 +166,14 @@ public interface PersonRepository
 
     public List<Person> deleteByFirstname(String firstname);
 
+    public void removeByFirstnameAndLastname(String firstname, String lastname);
+
+    // Projections
+
+    public List<PersonName> findNamesByFirstname(String firstname);
+
+    public List<FullName> findFullNamesByLastname(String lastname);
+
     // Query methods
 
     @Query("firstname=James")
@@ -176,6 +191,30 @@ public interface PersonRepository
     @Query("lastname in %s")
     public List<Person> peopleWithLastNameIn(Collection<String> lastNames);
 
+    @Query("firstname=%s")
+    public Page<Person> peopleWithTheirFirstName(String firstName, Pageable pageable);
+
+    @Query(value = "firstname = ? AND lastname = ?", sql = true)
+    public List<Person> peopleWithFirstAndLastNameUsingSql(String firstName, String lastName);
+
+    @Query(value = "lastname IN (?, ?)", sql = true)
+    public List<Person> peopleWithEitherLastNameUsingSql(String lastName, String otherLastName);
+
+    @Query(value = "firstname = ?", sql = true)
+    public Page<Person> peopleWithTheirFirstNameUsingSql(String firstName, Pageable pageable);
+
+    @Query(value = "firstname = ?", sql = true)
+    public Slice<Person> sliceOfPeopleWithTheirFirstNameUsingSql(String firstName, Pageable pageable);
+
+    @Query(value = "firstname = ?", sql = true)
+    public long numberOfPeopleWithTheirFirstNameUsingSql(String firstName);
+
+    @Query(value = "firstname = ?", sql = true)
+    public boolean anyPeopleWithTheirFirstNameUsingSql(String firstName);
+
+    @Query(value = "firstname = ?", sql = true)
+    public Person firstPersonWithTheirFirstNameUsingSql(String firstName, Sort sort);
+
     // Null handling methods
 
     public Optional<Person> getByLastname(String lastname);
@@ -210,4 +249,9 @@ public interface PersonRepository
     public List<Person> findByLastnameNotEmpty();
     
     public List<Person> findByLastnameIsNotEmpty();
+
+    // Partial updates
+    public boolean updateLastnameById(String id, String lastname);
+
+    public int updateFirstnameAndLastnameByFirstname(String oldFirstname, String firstname, String lastname);
 }